@@ -0,0 +1,141 @@
+package jpabook.jpashop.loadtest;
+
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.datagen.DataGenProperties;
+import jpabook.jpashop.datagen.DataGenerator;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Item;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * flush 비용 비교 (./gradlew flushBenchmark, ./gradlew flushBenchmark -PnoEnhance)
+ *
+ * 주문을 orders 건 (+ 회원, 배송, 주문상품, 상품) 영속성 컨텍스트에 올려둔 채로
+ * clean : 아무것도 바꾸지 않고 flush -> 순수 dirty checking 비용
+ * dirty : 상품 하나의 재고만 바꾸고 flush -> update 1건 + dirty checking
+ * 를 rounds 번씩 측정한다. 바이트코드 향상이 있으면 변경된 필드만 보고, 없으면 모든 엔티티의 필드를 스냅샷과 비교한다.
+ *
+ * 옵션: --orders=5000 --rounds=50 --seed=42 --out=build/flush
+ */
+public class FlushBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int orders = 5_000;
+        int rounds = 50;
+        long seed = 42;
+        Path out = Path.of("build", "flush");
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--orders=")) {
+                orders = Integer.parseInt(value);
+            } else if (arg.startsWith("--rounds=")) {
+                rounds = Integer.parseInt(value);
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value);
+            } else if (arg.startsWith("--out=")) {
+                out = Path.of(value);
+            } else {
+                throw new IllegalArgumentException("알 수 없는 옵션입니다: " + arg);
+            }
+        }
+
+        if (orders < 1 || rounds < 1) {
+            throw new IllegalArgumentException("--orders 와 --rounds 는 1 이상이어야 합니다.");
+        }
+
+        String mode = SelfDirtinessTracker.class.isAssignableFrom(Order.class) ? "enhanced" : "snapshot";
+
+        try (ConfigurableApplicationContext context = boot()) {
+            DataGenProperties spec = new DataGenProperties();
+            spec.setSeed(seed);
+            spec.setMembers(Math.max(1, orders / 5));
+            spec.setItems(Math.max(1, orders / 10));
+            spec.setOrders(orders);
+            context.getBean(DataGenerator.class).generate(spec);
+
+            EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+            EntityManager em = emf.createEntityManager();
+
+            try {
+                em.getTransaction().begin();
+
+                List<Order> loaded = em.createQuery(
+                                "select distinct o from Order o" +
+                                        " join fetch o.member m" +
+                                        " join fetch o.delivery d" +
+                                        " join fetch o.orderItems oi" +
+                                        " join fetch oi.item i", Order.class)
+                        .getResultList();
+                int entities = em.unwrap(Session.class).getStatistics().getEntityCount();
+                Item item = loaded.get(0).getOrderItems().stream().map(OrderItem::getItem).findFirst().orElseThrow();
+
+                long[] clean = new long[rounds];
+                long[] dirty = new long[rounds];
+
+                for (int round = 0; round < rounds; round++) {
+                    long start = System.nanoTime();
+                    em.flush();
+                    clean[round] = System.nanoTime() - start;
+
+                    item.setStockQuantity(item.getStockQuantity() + 1);
+                    start = System.nanoTime();
+                    em.flush();
+                    dirty[round] = System.nanoTime() - start;
+                }
+
+                em.getTransaction().rollback(); //측정용 변경은 남기지 않는다.
+
+                String line = String.format("%s,%d,%d,%.3f,%.3f,%.1f", mode, loaded.size(), entities,
+                        median(clean) / 1_000_000.0, median(dirty) / 1_000_000.0, (double) median(clean) / entities);
+                System.out.printf("%-9s orders=%d entities=%d clean=%.3fms dirty=%.3fms (%.1fns/entity)%n", mode,
+                        loaded.size(), entities, median(clean) / 1_000_000.0, median(dirty) / 1_000_000.0,
+                        (double) median(clean) / entities);
+
+                Files.createDirectories(out);
+                Path report = out.resolve("flush.csv");
+                if (Files.notExists(report)) {
+                    Files.writeString(report, "mode,orders,entities,clean_flush_ms,dirty_flush_ms,clean_ns_per_entity\n");
+                }
+                Files.writeString(report, line + "\n", StandardOpenOption.APPEND);
+            } finally {
+                em.close();
+            }
+        }
+    }
+
+    /**
+     * 웹 서버 없이 메모리 H2 로 실행 (SQL 로그 x)
+     */
+    private static ConfigurableApplicationContext boot() {
+        return new SpringApplicationBuilder(JpashopApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:flush;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.devtools.restart.enabled=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=info",
+                        "logging.level.org.hibernate.type=info")
+                .run();
+    }
+
+    private static long median(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,87 @@
+package jpabook.jpashop.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * 부하 테스트 리포트 (단위: ms)
+ *
+ * {out}/{label}.txt          : 요약 표
+ * {out}/{label}-{시나리오}.hgrm : 지연 시간 분포 (HdrHistogram percentile 출력, 그래프 도구에 그대로 사용)
+ * {out}/summary.csv           : 실행마다 한 줄씩 누적 -> 커밋 간 비교
+ */
+class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String CSV_HEADER = "time,label,scenario,target_rate,requests,errors,error_rate,throughput,p50,p90,p99,p999,max,service_p99";
+
+    private final LoadTestOptions options;
+    private final String label;
+    private final Map<String, ScenarioStats> stats;
+
+    LatencyReport(LoadTestOptions options, String label, Map<String, ScenarioStats> stats) {
+        this.options = options;
+        this.label = label;
+        this.stats = stats;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n[%s] rate=%d/s duration=%ds warmup=%ds%n", label, options.rate,
+                options.duration.toSeconds(), options.warmup.toSeconds());
+        out.printf("%-12s %9s %8s %7s %9s %9s %9s %9s %9s %9s %11s%n",
+                "scenario", "requests", "errors", "error%", "req/s", "p50", "p90", "p99", "p999", "max", "service p99");
+
+        stats.values().forEach(s -> out.printf("%-12s %9d %8d %6.2f%% %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f%n",
+                s.name, s.requests(), s.errors.sum(), errorRate(s) * 100, throughput(s),
+                ms(s.latency, 50), ms(s.latency, 90), ms(s.latency, 99), ms(s.latency, 99.9), s.latency.getMaxValue() / NANOS_PER_MILLI,
+                ms(s.service, 99)));
+    }
+
+    void write() throws IOException {
+        Files.createDirectories(options.out);
+
+        try (PrintStream out = new PrintStream(Files.newOutputStream(options.out.resolve(label + ".txt")), true, "UTF-8")) {
+            print(out);
+        }
+
+        for (ScenarioStats s : stats.values()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(options.out.resolve(label + "-" + s.name + ".hgrm")))) {
+                s.latency.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+
+        Path csv = options.out.resolve("summary.csv");
+        if (Files.notExists(csv)) {
+            Files.writeString(csv, CSV_HEADER + System.lineSeparator());
+        }
+
+        String time = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        StringBuilder rows = new StringBuilder();
+        stats.values().forEach(s -> rows.append(String.format("%s,%s,%s,%d,%d,%d,%.4f,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                time, label, s.name, options.rate, s.requests(), s.errors.sum(), errorRate(s), throughput(s),
+                ms(s.latency, 50), ms(s.latency, 90), ms(s.latency, 99), ms(s.latency, 99.9), s.latency.getMaxValue() / NANOS_PER_MILLI,
+                ms(s.service, 99))));
+        Files.writeString(csv, rows, StandardOpenOption.APPEND);
+    }
+
+    private double errorRate(ScenarioStats s) {
+        long requests = s.requests();
+        return requests == 0 ? 0 : (double) s.errors.sum() / requests;
+    }
+
+    private double throughput(ScenarioStats s) {
+        return (double) (s.requests() - s.errors.sum()) / options.duration.toSeconds();
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,105 @@
+package jpabook.jpashop.loadtest;
+
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.datagen.DataGenProperties;
+import jpabook.jpashop.datagen.DataGenerator;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP 부하 테스트 (./gradlew loadTest -Pargs="--rate=500 --duration=120")
+ *
+ * --target 이 없으면 메모리 H2 로 애플리케이션을 띄우고 DataGenerator 로 데이터를 만든 뒤 측정한다.
+ * 같은 seed, 옵션이면 같은 데이터, 같은 요청 순서 -> 커밋 간 결과 비교 가능 (build/loadtest/summary.csv)
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = options.target == null ? boot(options) : null;
+
+        try {
+            if (context != null) {
+                options.target = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            }
+
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .followRedirects(HttpClient.Redirect.NEVER) //POST /order -> 302 까지만 (주문 목록 화면은 측정 x)
+                    .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                    .build();
+
+            List<Scenario> scenarios = Scenarios.discover(client, options).build(options.mix);
+            Map<String, ScenarioStats> stats = new OpenLoopDriver(client, options, scenarios).run();
+
+            LatencyReport report = new LatencyReport(options, options.label != null ? options.label : gitLabel(), stats);
+            report.print(System.out);
+            report.write();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        System.exit(0); //HttpClient executor 스레드 정리
+    }
+
+    /**
+     * 메모리 H2 + 랜덤 포트로 애플리케이션 실행
+     * 데이터는 ApplicationStartedEvent 에서 생성 -> ApplicationReadyEvent 에서 메모리 구조를 만드는 컴포넌트도 생성된 데이터를 본다.
+     */
+    private static ConfigurableApplicationContext boot(LoadTestOptions options) {
+        //람다는 이벤트 타입 정보가 지워지므로 익명 클래스로
+        ApplicationListener<ApplicationStartedEvent> seed = new ApplicationListener<>() {
+            @Override
+            public void onApplicationEvent(ApplicationStartedEvent event) {
+                DataGenProperties spec = new DataGenProperties();
+                spec.setSeed(options.seed);
+                spec.setMembers(options.members);
+                spec.setItems(options.items);
+                spec.setOrders(options.orders);
+
+                event.getApplicationContext().getBean(DataGenerator.class).generate(spec);
+            }
+        };
+
+        return new SpringApplicationBuilder(JpashopApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.devtools.restart.enabled=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=info",
+                        "logging.level.org.hibernate.type=info")
+                .listeners(seed)
+                .run();
+    }
+
+    private static String gitLabel() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String commit = reader.readLine();
+                if (process.waitFor() == 0 && commit != null) {
+                    return commit.trim();
+                }
+            }
+        } catch (Exception e) {
+            //git 이 없는 환경 -> 기본 이름
+        }
+
+        return "local";
+    }
+}
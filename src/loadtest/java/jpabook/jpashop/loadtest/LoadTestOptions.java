@@ -0,0 +1,80 @@
+package jpabook.jpashop.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 옵션 (--key=value)
+ *
+ * --target      : 대상 주소 (없으면 메모리 H2 + 데이터 생성 후 애플리케이션을 같은 JVM 에서 띄운다.)
+ * --rate        : 초당 요청 수 (open-loop -> 응답과 관계없이 일정 간격으로 보낸다.)
+ * --duration    : 측정 시간 (초), --warmup : 측정 전 워밍업 시간 (초)
+ * --mix         : 시나리오 비율 (order:25,orders-v3.1:30,orders-v5:25,member-join:20)
+ * --members, --items, --orders : 내장 실행 시 생성할 데이터 수 (seed 고정)
+ * --label       : 리포트 이름 (기본: git 커밋), --out : 리포트 디렉토리
+ */
+class LoadTestOptions {
+
+    String target;
+    int rate = 200;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    Map<String, Integer> mix = parseMix("order:25,orders-v3.1:30,orders-v5:25,member-join:20");
+    int maxInFlight = 10_000; //초과하면 보내지 않고 오류(dropped)로 기록
+    Duration timeout = Duration.ofSeconds(30);
+    long seed = 42;
+    int members = 10_000;
+    int items = 1_000;
+    int orders = 20_000;
+    String label;
+    Path out = Path.of("build", "loadtest");
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--key=value 형식이어야 합니다: " + arg);
+            }
+
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+
+            switch (key) {
+                case "target" -> options.target = value;
+                case "rate" -> options.rate = Integer.parseInt(value);
+                case "duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "mix" -> options.mix = parseMix(value);
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "timeout" -> options.timeout = Duration.ofSeconds(Long.parseLong(value));
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "members" -> options.members = Integer.parseInt(value);
+                case "items" -> options.items = Integer.parseInt(value);
+                case "orders" -> options.orders = Integer.parseInt(value);
+                case "label" -> options.label = value;
+                case "out" -> options.out = Path.of(value);
+                default -> throw new IllegalArgumentException("알 수 없는 옵션입니다: " + key);
+            }
+        }
+
+        if (options.rate < 1) {
+            throw new IllegalArgumentException("rate 는 1 이상이어야 합니다.");
+        }
+
+        return options;
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+
+        for (String entry : value.split(",")) {
+            String[] pair = entry.split(":");
+            mix.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+
+        return mix;
+    }
+}
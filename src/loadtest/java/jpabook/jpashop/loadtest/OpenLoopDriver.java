@@ -0,0 +1,107 @@
+package jpabook.jpashop.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * open-loop 부하 -> 요청 i 는 start + i * (1 / rate) 에 보내야 하고, 앞 요청의 응답을 기다리지 않는다.
+ * 발송 스레드가 늦어져도 지연 시간은 예정 시각부터 재므로 느려진 구간이 통계에서 빠지지 않는다.
+ */
+class OpenLoopDriver {
+
+    private final HttpClient client;
+    private final LoadTestOptions options;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+
+    OpenLoopDriver(HttpClient client, LoadTestOptions options, List<Scenario> scenarios) {
+        this.client = client;
+        this.options = options;
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+    }
+
+    /**
+     * @return 측정 구간 (워밍업 제외) 의 시나리오별 통계
+     */
+    Map<String, ScenarioStats> run() throws InterruptedException {
+        Map<String, ScenarioStats> measured = stats();
+        Map<String, ScenarioStats> warmup = stats();
+
+        Semaphore inFlight = new Semaphore(options.maxInFlight);
+        SplittableRandom random = new SplittableRandom(options.seed);
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate;
+
+        long start = System.nanoTime();
+        long measureStart = start + options.warmup.toNanos();
+        long end = measureStart + options.duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Scenario scenario = pick(random);
+            ScenarioStats stats = (intended >= measureStart ? measured : warmup).get(scenario.name());
+
+            if (!inFlight.tryAcquire()) {
+                stats.drop();
+                continue;
+            }
+
+            long sent = System.nanoTime();
+            client.sendAsync(scenario.request().apply(random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        long done = System.nanoTime();
+                        if (e == null && response.statusCode() < 400) {
+                            stats.success(intended, sent, done);
+                        } else {
+                            stats.error(intended, done);
+                        }
+                        inFlight.release();
+                    });
+        }
+
+        //남은 응답 대기 (타임아웃이 지나면 HttpClient 가 오류로 완료한다.)
+        Duration drain = options.timeout.plusSeconds(5);
+        if (!inFlight.tryAcquire(options.maxInFlight, drain.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("응답을 기다리는 요청이 남아 있습니다.");
+        }
+
+        return measured;
+    }
+
+    private Map<String, ScenarioStats> stats() {
+        Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+        scenarios.forEach(s -> stats.put(s.name(), new ScenarioStats(s.name())));
+
+        return stats;
+    }
+
+    private Scenario pick(SplittableRandom random) {
+        int r = random.nextInt(totalWeight);
+
+        for (Scenario scenario : scenarios) {
+            r -= scenario.weight();
+            if (r < 0) {
+                return scenario;
+            }
+        }
+
+        return scenarios.get(scenarios.size() - 1);
+    }
+}
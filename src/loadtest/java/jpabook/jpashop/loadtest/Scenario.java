@@ -0,0 +1,11 @@
+package jpabook.jpashop.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * 시나리오 -> 요청마다 새 HttpRequest 를 만든다. (대상 id, 페이지는 난수로)
+ */
+record Scenario(String name, int weight, Function<SplittableRandom, HttpRequest> request) {
+}
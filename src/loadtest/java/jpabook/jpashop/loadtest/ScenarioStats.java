@@ -0,0 +1,47 @@
+package jpabook.jpashop.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시나리오별 지연 시간 (ns)
+ *
+ * latency : 예정 발송 시각부터 응답까지 -> 서버가 밀려서 늦게 보낸 시간까지 포함 (coordinated omission 보정)
+ * service : 실제 발송부터 응답까지 -> 보정 전 값과 비교용
+ */
+class ScenarioStats {
+
+    private static final long HIGHEST = TimeUnit.MINUTES.toNanos(5);
+
+    final String name;
+    final Histogram latency = new ConcurrentHistogram(HIGHEST, 3);
+    final Histogram service = new ConcurrentHistogram(HIGHEST, 3);
+    final LongAdder errors = new LongAdder();
+    final LongAdder dropped = new LongAdder(); //max-in-flight 초과로 보내지 못한 요청 (오류에 포함)
+
+    ScenarioStats(String name) {
+        this.name = name;
+    }
+
+    void success(long intended, long sent, long done) {
+        latency.recordValue(Math.min(done - intended, HIGHEST));
+        service.recordValue(Math.min(done - sent, HIGHEST));
+    }
+
+    void error(long intended, long done) {
+        errors.increment();
+        latency.recordValue(Math.min(done - intended, HIGHEST));
+    }
+
+    void drop() {
+        dropped.increment();
+        errors.increment();
+    }
+
+    long requests() {
+        return latency.getTotalCount() + dropped.sum();
+    }
+}
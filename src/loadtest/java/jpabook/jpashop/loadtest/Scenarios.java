@@ -0,0 +1,125 @@
+package jpabook.jpashop.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * 측정 대상 엔드포인트
+ *
+ * order       : POST /order (주문 화면 폼, 302 redirect 까지)
+ * orders-v3.1 : GET /api/v3.1/orders (컬렉션 페이징, 임의 offset)
+ * orders-v5   : GET /api/v5/orders (DTO 직접 조회 + in 절 최적화)
+ * orders-v5-lean : GET /api/v5/orders?fields=orderId,orderStatus,totalPrice (조인, 컬렉션 쿼리 없이 합계만)
+ * member-join : POST /api/v2/members (회원 가입, 매번 새 이름)
+ */
+class Scenarios {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final String target;
+    private final Duration timeout;
+    private final long[] memberIds;
+    private final long[] itemIds;
+    private final int orderPages;
+
+    private Scenarios(String target, Duration timeout, long[] memberIds, long[] itemIds, long orderCount) {
+        this.target = target;
+        this.timeout = timeout;
+        this.memberIds = memberIds;
+        this.itemIds = itemIds;
+        this.orderPages = (int) Math.max(1, orderCount / PAGE_SIZE);
+    }
+
+    /**
+     * 주문에 사용할 회원, 상품 id 를 API 로 가져온다. (내장 실행, 외부 대상 모두 같은 방식)
+     */
+    static Scenarios discover(HttpClient client, LoadTestOptions options) throws IOException, InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        JsonNode members = get(client, objectMapper, options.target + "/api/v1/members/search?q=&limit=100");
+        JsonNode items = get(client, objectMapper, options.target + "/api/v1/items?size=100");
+
+        long[] memberIds = ids(members);
+        long[] itemIds = ids(items.get("data"));
+        if (memberIds.length == 0 || itemIds.length == 0) {
+            throw new IllegalStateException("주문할 회원, 상품이 없습니다. target=" + options.target);
+        }
+
+        return new Scenarios(options.target, options.timeout, memberIds, itemIds, options.orders);
+    }
+
+    List<Scenario> build(Map<String, Integer> mix) {
+        List<Scenario> scenarios = new ArrayList<>();
+
+        mix.forEach((name, weight) -> {
+            if (weight <= 0) {
+                return;
+            }
+
+            scenarios.add(switch (name) {
+                case "order" -> new Scenario(name, weight, random -> request("/order")
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "memberId=" + pick(random, memberIds) + "&itemId=" + pick(random, itemIds) + "&count=1"))
+                        .build());
+                case "orders-v3.1" -> new Scenario(name, weight, random -> request(
+                        "/api/v3.1/orders?offset=" + random.nextInt(orderPages) * PAGE_SIZE + "&limit=" + PAGE_SIZE)
+                        .GET()
+                        .build());
+                case "orders-v5" -> new Scenario(name, weight, random -> request("/api/v5/orders").GET().build());
+                case "orders-v5-lean" -> new Scenario(name, weight, random -> request(
+                        "/api/v5/orders?fields=orderId,orderStatus,totalPrice")
+                        .GET()
+                        .build());
+                case "member-join" -> new Scenario(name, weight, random -> request("/api/v2/members")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"lt-" + UUID.randomUUID() + "\"}"))
+                        .build());
+                default -> throw new IllegalArgumentException("알 수 없는 시나리오입니다: " + name);
+            });
+        });
+
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("실행할 시나리오가 없습니다.");
+        }
+
+        return scenarios;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(target + path)).timeout(timeout);
+    }
+
+    private static long pick(SplittableRandom random, long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private static JsonNode get(HttpClient client, ObjectMapper objectMapper, String url) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " -> " + response.statusCode());
+        }
+
+        return objectMapper.readTree(response.body());
+    }
+
+    private static long[] ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        array.forEach(node -> ids.add(node.get("id").asLong()));
+
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
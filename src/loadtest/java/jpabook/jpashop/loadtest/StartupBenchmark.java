@@ -0,0 +1,115 @@
+package jpabook.jpashop.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 시작 시간 비교 (./gradlew startupBenchmark)
+ * 애플리케이션을 별도 JVM 으로 runs 번씩 띄우고, StartupTimeReporter 로그 (startup: started=..ms ready=..ms) 를 읽는다.
+ *
+ * default  : 기본 프로필 (ddl-auto create + 시드 데이터)
+ * prod     : Flyway 마이그레이션 + lazy initialization
+ * prod+cds : prod + CDS 아카이브 (--archive 가 있을 때)
+ *
+ * 옵션: --classpath (필수), --archive, --runs=5, --out=build/startup
+ */
+public class StartupBenchmark {
+
+    private static final Pattern STARTUP_LOG = Pattern.compile("startup: started=(\\d+)ms ready=(\\d+)ms");
+    private static final String MAIN_CLASS = "jpabook.jpashop.JpashopApplication";
+
+    public static void main(String[] args) throws Exception {
+        String classpath = null;
+        Path archive = null;
+        int runs = 5;
+        Path out = Path.of("build", "startup");
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--classpath=")) {
+                classpath = value;
+            } else if (arg.startsWith("--archive=")) {
+                archive = Path.of(value);
+            } else if (arg.startsWith("--runs=")) {
+                runs = Integer.parseInt(value);
+            } else if (arg.startsWith("--out=")) {
+                out = Path.of(value);
+            } else {
+                throw new IllegalArgumentException("알 수 없는 옵션입니다: " + arg);
+            }
+        }
+
+        if (classpath == null || runs < 1) {
+            throw new IllegalArgumentException("--classpath 와 1 이상의 --runs 가 필요합니다.");
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add("variant,run,started_ms,ready_ms,process_ms");
+
+        measure("default", List.of(), List.of(), classpath, runs, report);
+        measure("prod", List.of(), List.of("--spring.profiles.active=prod"), classpath, runs, report);
+        if (archive != null && Files.exists(archive)) {
+            measure("prod+cds", List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:auto"),
+                    List.of("--spring.profiles.active=prod"), classpath, runs, report);
+        } else {
+            System.out.println("CDS 아카이브가 없어 prod+cds 는 생략합니다. (./gradlew cdsArchive)");
+        }
+
+        Files.createDirectories(out);
+        Files.write(out.resolve("startup.csv"), report);
+    }
+
+    private static void measure(String variant, List<String> jvmArgs, List<String> appArgs, String classpath, int runs,
+                                List<String> report) throws IOException, InterruptedException {
+        long[] ready = new long[runs];
+
+        for (int run = 0; run < runs; run++) {
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmArgs);
+            command.addAll(List.of("-cp", classpath, MAIN_CLASS));
+            command.addAll(appArgs);
+            command.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1",
+                    "--server.port=0",
+                    "--jpashop.startup.exit-on-ready=true"));
+
+            long begin = System.nanoTime();
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            Matcher matcher = null;
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Matcher m = STARTUP_LOG.matcher(line);
+                    if (m.find()) {
+                        matcher = m;
+                    }
+                }
+            }
+
+            if (!process.waitFor(2, TimeUnit.MINUTES) || matcher == null) {
+                process.destroyForcibly();
+                throw new IllegalStateException(variant + " 시작 로그를 찾지 못했습니다.");
+            }
+
+            long processMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+            ready[run] = Long.parseLong(matcher.group(2));
+            report.add(String.join(",", variant, String.valueOf(run), matcher.group(1), matcher.group(2), String.valueOf(processMillis)));
+        }
+
+        long[] sorted = ready.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-10s ready median=%dms min=%dms max=%dms (runs=%d)%n",
+                variant, sorted[runs / 2], sorted[0], sorted[runs - 1], runs);
+    }
+}
@@ -3,19 +3,26 @@ package jpabook.jpashop;
 import jpabook.jpashop.domain.*;
 import jpabook.jpashop.domain.item.Book;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 
 @Component
+@Profile("!datagen & !prod") //datagen -> DataGenerator 가 대량 데이터를 대신 생성, prod -> 시드 데이터 x
 @RequiredArgsConstructor
 public class InitDb {
 
     private final InitService initService;
 
-    @PostConstruct
+    //빈 초기화 (@PostConstruct) 대신 시작이 끝난 뒤 실행 -> ready 리스너 중 가장 먼저 (랭킹, 집계가 시드 데이터를 읽도록)
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     public void init() {
         initService.dbInit1();
         initService.dbInit2();
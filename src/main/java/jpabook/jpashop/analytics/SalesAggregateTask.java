@@ -0,0 +1,98 @@
+package jpabook.jpashop.analytics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * segment 목록을 반으로 나눠 fork, 각 segment 를 스캔한 부분 집계를 join 하면서 합친다.
+ * 결과 값 -> long[]{revenue, units}
+ */
+class SalesAggregateTask extends RecursiveTask<Map<SalesKey, long[]>> {
+
+    private final List<SalesSegment> segments;
+    private final int lo, hi;
+    private final SalesGroupBy groupBy;
+    private final boolean daily;
+    private final int fromDay, toDay;
+    private final Map<Long, long[]> categoriesByItem;
+
+    SalesAggregateTask(List<SalesSegment> segments, int lo, int hi, SalesGroupBy groupBy, boolean daily,
+                       int fromDay, int toDay, Map<Long, long[]> categoriesByItem) {
+        this.segments = segments;
+        this.lo = lo;
+        this.hi = hi;
+        this.groupBy = groupBy;
+        this.daily = daily;
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        this.categoriesByItem = categoriesByItem;
+    }
+
+    @Override
+    protected Map<SalesKey, long[]> compute() {
+        if (hi - lo <= 1) {
+            Map<SalesKey, long[]> result = new HashMap<>();
+            if (hi > lo) {
+                scan(segments.get(lo), result);
+            }
+            return result;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        SalesAggregateTask left = new SalesAggregateTask(segments, lo, mid, groupBy, daily, fromDay, toDay, categoriesByItem);
+        SalesAggregateTask right = new SalesAggregateTask(segments, mid, hi, groupBy, daily, fromDay, toDay, categoriesByItem);
+        left.fork();
+
+        Map<SalesKey, long[]> merged = right.compute();
+        Map<SalesKey, long[]> other = left.join();
+        if (other.size() > merged.size()) {
+            Map<SalesKey, long[]> tmp = merged;
+            merged = other;
+            other = tmp;
+        }
+        other.forEach((key, value) -> add(merged, key, value[0], value[1]));
+
+        return merged;
+    }
+
+    private void scan(SalesSegment segment, Map<SalesKey, long[]> result) {
+        int size = segment.size(); //volatile read 이후 [0, size) 는 완성된 row
+
+        if (size == 0 || !segment.overlaps(fromDay, toDay)) {
+            return;
+        }
+
+        for (int i = 0; i < size; i++) {
+            int day = segment.epochDays[i];
+            if (segment.cancelled[i] || day < fromDay || day > toDay) {
+                continue;
+            }
+
+            int keyDay = daily ? day : SalesKey.NO_DAY;
+            long amount = segment.amounts[i];
+            int count = segment.counts[i];
+
+            switch (groupBy) {
+                case ITEM -> add(result, new SalesKey(keyDay, segment.itemIds[i]), amount, count);
+                case CITY -> add(result, new SalesKey(keyDay, segment.cityCodes[i]), amount, count);
+                case TOTAL -> add(result, new SalesKey(keyDay, 0L), amount, count);
+                case CATEGORY -> {
+                    long[] categoryIds = categoriesByItem.get(segment.itemIds[i]);
+                    if (categoryIds != null) {
+                        for (long categoryId : categoryIds) {
+                            add(result, new SalesKey(keyDay, categoryId), amount, count);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void add(Map<SalesKey, long[]> result, SalesKey key, long revenue, long units) {
+        long[] totals = result.computeIfAbsent(key, k -> new long[2]);
+        totals[0] += revenue;
+        totals[1] += units;
+    }
+}
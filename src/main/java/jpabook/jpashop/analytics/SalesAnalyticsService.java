@@ -0,0 +1,83 @@
+package jpabook.jpashop.analytics;
+
+import jpabook.jpashop.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 매출 집계 조회 (DB 대신 SalesColumnStore 를 읽는다)
+ * 상품명만 상위 K 개에 대해서 DB 에서 조회한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesAnalyticsService {
+
+    private static final Comparator<Map.Entry<SalesKey, long[]>> BY_REVENUE =
+            Comparator.comparingLong((Map.Entry<SalesKey, long[]> e) -> e.getValue()[0])
+                    .thenComparingLong(e -> -e.getKey().id());
+
+    private final SalesColumnStore salesColumnStore;
+    private final ItemRepository itemRepository;
+
+    /**
+     * daily=false -> 기간 전체 매출 상위 top 개, daily=true -> 날짜별 매출 상위 top 개 (날짜 오름차순)
+     * top <= 0 -> 전체
+     */
+    public List<SalesRow> findSales(SalesGroupBy groupBy, LocalDate from, LocalDate to, boolean daily, int top) {
+        int fromDay = from == null ? Integer.MIN_VALUE + 1 : (int) from.toEpochDay();
+        int toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+        Map<SalesKey, long[]> totals = salesColumnStore.aggregate(groupBy, daily, fromDay, toDay);
+
+        List<Map.Entry<SalesKey, long[]>> ranked = new ArrayList<>();
+        totals.entrySet().stream()
+                .collect(Collectors.groupingBy(e -> e.getKey().epochDay(), TreeMap::new, Collectors.toList()))
+                .values()
+                .forEach(entries -> ranked.addAll(topK(entries, top)));
+
+        Map<Long, String> itemNames = groupBy == SalesGroupBy.ITEM
+                ? itemRepository.findNamesByIds(ranked.stream().map(e -> e.getKey().id()).collect(Collectors.toSet()))
+                : Map.of();
+
+        return ranked.stream()
+                .map(e -> toRow(groupBy, e.getKey(), e.getValue(), itemNames))
+                .toList();
+    }
+
+    //min-heap 으로 상위 K 개만 유지 -> O(n log K)
+    private List<Map.Entry<SalesKey, long[]>> topK(List<Map.Entry<SalesKey, long[]>> entries, int k) {
+        if (k <= 0 || entries.size() <= k) {
+            List<Map.Entry<SalesKey, long[]>> all = new ArrayList<>(entries);
+            all.sort(BY_REVENUE.reversed());
+            return all;
+        }
+
+        PriorityQueue<Map.Entry<SalesKey, long[]>> heap = new PriorityQueue<>(k, BY_REVENUE);
+        for (Map.Entry<SalesKey, long[]> entry : entries) {
+            if (heap.size() < k) {
+                heap.offer(entry);
+            } else if (BY_REVENUE.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(entry);
+            }
+        }
+
+        List<Map.Entry<SalesKey, long[]>> result = new ArrayList<>(heap);
+        result.sort(BY_REVENUE.reversed());
+        return result;
+    }
+
+    private SalesRow toRow(SalesGroupBy groupBy, SalesKey key, long[] totals, Map<Long, String> itemNames) {
+        LocalDate day = key.epochDay() == SalesKey.NO_DAY ? null : LocalDate.ofEpochDay(key.epochDay());
+
+        return switch (groupBy) {
+            case ITEM -> new SalesRow(day, key.id(), itemNames.get(key.id()), totals[0], totals[1]);
+            case CATEGORY -> new SalesRow(day, key.id(), salesColumnStore.categoryName(key.id()), totals[0], totals[1]);
+            case CITY -> new SalesRow(day, null, salesColumnStore.cityName((int) key.id()), totals[0], totals[1]);
+            case TOTAL -> new SalesRow(day, null, null, totals[0], totals[1]);
+        };
+    }
+}
@@ -0,0 +1,194 @@
+package jpabook.jpashop.analytics;
+
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+
+/**
+ * 주문상품 fact 의 컬럼형 인메모리 저장소
+ *
+ * rebuild -> 시작 시 archive, hot 주문상품 전체 적재 (새 segment 목록을 만든 뒤 한번에 교체)
+ * refresh -> 마지막으로 적재한 order_item_id 이후의 주문상품만 추가, 적재 이후 취소된 주문은 cancelled 표시
+ *            (취소는 커밋 이후 이벤트로 모아두었다가 주문 id 범위가 겹치는 segment 만 확인한다.)
+ * 조회는 volatile 필드만 읽으므로 락이 없고, 쓰기(rebuild, refresh)는 synchronized 로 한 스레드만 실행한다.
+ *
+ * order_item_id 는 시퀀스 순서로 커밋되지 않으므로, 아주 늦게 커밋된 주문상품은 다음 rebuild 까지 빠질 수 있다.
+ * 다른 인스턴스에서 취소된 주문도 다음 rebuild 에서 반영된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesColumnStore {
+
+    private static final int PAGE_SIZE = 10_000;
+
+    private final SalesFactRepository salesFactRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private volatile List<SalesSegment> segments = List.of();
+    private volatile List<String> cities = List.of();
+    private volatile Map<Long, long[]> categoriesByItem = Map.of();
+    private volatile Map<Long, String> categoryNames = Map.of();
+
+    //refresh 스레드 전용 (도시 사전은 rebuild 에서도 유지 -> 기존 segment 의 도시 번호가 바뀌지 않는다)
+    private final Map<String, Integer> cityCodes = new HashMap<>();
+    private long lastOrderItemId;
+
+    //커밋된 주문 취소 -> 다음 refresh 에서 반영 (요청 스레드가 refresh 를 기다리지 않게 큐에만 넣는다)
+    private final Queue<Long> pendingCancels = new ConcurrentLinkedQueue<>();
+
+    //primary 에서 읽는다. (readOnly -> replica 라우팅 시 복제 지연만큼 누락)
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1) //InitDb 시드 다음, ApplicationWarmup 전
+    public synchronized void rebuild() {
+        List<SalesSegment> loaded = new ArrayList<>();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            load(loaded, 0L, salesFactRepository::findArchivedOrderedItemsAfter);
+            lastOrderItemId = load(loaded, 0L, salesFactRepository::findOrderedItemsAfter);
+            loadCategories();
+        });
+
+        segments = List.copyOf(loaded);
+        log.info("sales column store rebuilt : {} rows in {} segments", rows(), loaded.size());
+    }
+
+    @Scheduled(fixedDelayString = "${jpashop.analytics.refresh-ms:60000}", initialDelayString = "${jpashop.analytics.refresh-ms:60000}")
+    public synchronized void refresh() {
+        List<SalesSegment> working = new ArrayList<>(segments);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            lastOrderItemId = load(working, lastOrderItemId, salesFactRepository::findOrderedItemsAfter);
+            loadCategories();
+        });
+
+        markCancelled(working);
+
+        if (working.size() != segments.size()) {
+            segments = List.copyOf(working);
+        }
+    }
+
+    Map<SalesKey, long[]> aggregate(SalesGroupBy groupBy, boolean daily, int fromDay, int toDay) {
+        List<SalesSegment> current = segments;
+        return ForkJoinPool.commonPool().invoke(
+                new SalesAggregateTask(current, 0, current.size(), groupBy, daily, fromDay, toDay, categoriesByItem));
+    }
+
+    public String cityName(int cityCode) {
+        return cityCode < 0 ? null : cities.get(cityCode);
+    }
+
+    public String categoryName(long categoryId) {
+        return categoryNames.get(categoryId);
+    }
+
+    public long rows() {
+        return segments.stream().mapToLong(SalesSegment::size).sum();
+    }
+
+    //마지막 segment 가 차 있지 않으면 이어서 쓴다. (조회 스레드는 size 까지만 읽는다)
+    private long load(List<SalesSegment> target, long lastId, BiFunction<Long, Integer, List<Object[]>> page) {
+        List<Object[]> rows;
+
+        do {
+            rows = page.apply(lastId, PAGE_SIZE);
+
+            for (Object[] row : rows) {
+                SalesSegment tail = target.isEmpty() ? null : target.get(target.size() - 1);
+                if (tail == null || tail.isFull()) {
+                    tail = new SalesSegment();
+                    target.add(tail);
+                }
+
+                LocalDateTime orderDate = (LocalDateTime) row[5];
+                tail.append((Long) row[1], (Long) row[2], (Integer) row[3], (Integer) row[4],
+                        (int) orderDate.toLocalDate().toEpochDay(), cityCode((String) row[6]));
+                lastId = (Long) row[0];
+            }
+        } while (rows.size() == PAGE_SIZE);
+
+        return lastId;
+    }
+
+    //새 도시는 row 보다 먼저 사전에 추가해서 공개한다.
+    private int cityCode(String city) {
+        if (city == null) {
+            return -1;
+        }
+
+        Integer code = cityCodes.get(city);
+        if (code == null) {
+            code = cityCodes.size();
+            cityCodes.put(city, code);
+
+            List<String> next = new ArrayList<>(cities);
+            next.add(city);
+            cities = List.copyOf(next);
+        }
+
+        return code;
+    }
+
+    @TransactionalEventListener
+    public void orderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.status() == OrderStatus.CANCEL) {
+            pendingCancels.add(event.orderId());
+        }
+    }
+
+    //rebuild 는 취소된 주문을 적재하지 않는다. -> 적재 이후에 취소된 주문만 표시하면 된다. (중복 표시 무해)
+    private void markCancelled(List<SalesSegment> target) {
+        Set<Long> cancelled = new HashSet<>();
+        for (Long orderId = pendingCancels.poll(); orderId != null; orderId = pendingCancels.poll()) {
+            cancelled.add(orderId);
+        }
+
+        for (long orderId : cancelled) {
+            for (SalesSegment segment : target) {
+                if (!segment.mayContain(orderId)) {
+                    continue;
+                }
+
+                int size = segment.size();
+                for (int i = 0; i < size; i++) {
+                    if (segment.orderIds[i] == orderId) {
+                        segment.cancelled[i] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private void loadCategories() {
+        Map<Long, List<Long>> byItem = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+
+        for (Object[] row : salesFactRepository.findItemCategories()) {
+            byItem.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((Long) row[1]);
+            names.put((Long) row[1], (String) row[2]);
+        }
+
+        Map<Long, long[]> categories = new HashMap<>();
+        byItem.forEach((itemId, categoryIds) -> categories.put(itemId, categoryIds.stream().mapToLong(Long::longValue).toArray()));
+
+        categoriesByItem = categories;
+        categoryNames = names;
+    }
+}
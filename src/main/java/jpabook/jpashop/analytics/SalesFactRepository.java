@@ -0,0 +1,55 @@
+package jpabook.jpashop.analytics;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * 집계용 fact 조회 -> 엔티티 대신 필요한 컬럼만 Object[] 로 조회한다.
+ * row : {orderItemId, orderId, itemId, orderPrice, count, orderDate, city}
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesFactRepository {
+
+    private final EntityManager em;
+
+    //oi.item.id -> item 조인 없이 FK 컬럼 사용
+    public List<Object[]> findOrderedItemsAfter(long lastOrderItemId, int limit) {
+        return em.createQuery(
+                "select oi.id, o.id, oi.item.id, oi.orderPrice, oi.count, o.orderDate, m.address.city " +
+                        "from OrderItem oi " +
+                        "join oi.order o " +
+                        "join o.member m " +
+                        "where oi.id > :lastId and o.status = :status " +
+                        "order by oi.id", Object[].class)
+                .setParameter("lastId", lastOrderItemId)
+                .setParameter("status", OrderStatus.ORDER)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<Object[]> findArchivedOrderedItemsAfter(long lastOrderItemId, int limit) {
+        return em.createQuery(
+                "select oi.id, o.id, oi.itemId, oi.orderPrice, oi.count, o.orderDate, m.address.city " +
+                        "from ArchivedOrderItem oi, ArchivedOrder o, Member m " +
+                        "where o.id = oi.orderId and m.id = o.memberId " +
+                        "and oi.id > :lastId and o.status = :status " +
+                        "order by oi.id", Object[].class)
+                .setParameter("lastId", lastOrderItemId)
+                .setParameter("status", OrderStatus.ORDER)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    //row : {itemId, categoryId, categoryName}
+    public List<Object[]> findItemCategories() {
+        return em.createQuery(
+                "select i.id, c.id, c.name from Category c " +
+                        "join c.items i", Object[].class)
+                .getResultList();
+    }
+}
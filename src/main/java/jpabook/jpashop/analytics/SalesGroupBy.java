@@ -0,0 +1,5 @@
+package jpabook.jpashop.analytics;
+
+public enum SalesGroupBy {
+    ITEM, CATEGORY, CITY, TOTAL
+}
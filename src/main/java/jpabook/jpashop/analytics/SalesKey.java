@@ -0,0 +1,9 @@
+package jpabook.jpashop.analytics;
+
+/**
+ * 집계 키 -> epochDay 가 NO_DAY 면 기간 전체 합계
+ */
+record SalesKey(int epochDay, long id) {
+
+    static final int NO_DAY = Integer.MIN_VALUE;
+}
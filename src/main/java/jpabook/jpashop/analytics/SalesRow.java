@@ -0,0 +1,17 @@
+package jpabook.jpashop.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class SalesRow {
+
+    private LocalDate day; //daily=false -> null
+    private Long id; //상품, 카테고리 id (도시, 전체 -> null)
+    private String name; //상품명, 카테고리명, 도시명
+    private long revenue; //orderPrice * count 합계
+    private long units; //판매 수량 합계
+}
@@ -0,0 +1,61 @@
+package jpabook.jpashop.analytics;
+
+/**
+ * 주문상품 fact 를 컬럼 단위 primitive 배열로 저장하는 segment (append only)
+ *
+ * 쓰기는 SalesColumnStore 의 refresh 스레드 하나만 한다.
+ * 배열에 값을 쓴 뒤 volatile size 를 늘리므로, size 를 먼저 읽은 조회 스레드는 [0, size) 구간을 락 없이 읽을 수 있다.
+ */
+final class SalesSegment {
+
+    static final int CAPACITY = 1 << 14;
+
+    final long[] orderIds = new long[CAPACITY];
+    final long[] itemIds = new long[CAPACITY];
+    final long[] amounts = new long[CAPACITY]; //orderPrice * count
+    final int[] counts = new int[CAPACITY];
+    final int[] epochDays = new int[CAPACITY];
+    final int[] cityCodes = new int[CAPACITY]; //SalesColumnStore 의 도시 사전 번호 (-1 -> 주소 없음)
+    final boolean[] cancelled = new boolean[CAPACITY]; //적재 이후 취소된 주문
+
+    //segment 의 주문일 범위 -> 조회 기간과 겹치지 않으면 segment 전체를 건너뛴다.
+    int minEpochDay = Integer.MAX_VALUE;
+    int maxEpochDay = Integer.MIN_VALUE;
+
+    //segment 의 주문 id 범위 -> 취소된 주문이 범위 밖이면 segment 를 보지 않는다.
+    long minOrderId = Long.MAX_VALUE;
+    long maxOrderId = Long.MIN_VALUE;
+
+    private volatile int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == CAPACITY;
+    }
+
+    void append(long orderId, long itemId, int orderPrice, int count, int epochDay, int cityCode) {
+        int i = size;
+        orderIds[i] = orderId;
+        itemIds[i] = itemId;
+        amounts[i] = (long) orderPrice * count;
+        counts[i] = count;
+        epochDays[i] = epochDay;
+        cityCodes[i] = cityCode;
+        minEpochDay = Math.min(minEpochDay, epochDay);
+        maxEpochDay = Math.max(maxEpochDay, epochDay);
+        minOrderId = Math.min(minOrderId, orderId);
+        maxOrderId = Math.max(maxOrderId, orderId);
+        size = i + 1;
+    }
+
+    boolean mayContain(long orderId) {
+        return minOrderId <= orderId && orderId <= maxOrderId;
+    }
+
+    boolean overlaps(int fromDay, int toDay) {
+        return minEpochDay <= toDay && maxEpochDay >= fromDay;
+    }
+}
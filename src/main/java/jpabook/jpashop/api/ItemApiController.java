@@ -0,0 +1,114 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.ranking.ItemRankings;
+import jpabook.jpashop.ranking.ItemSales;
+import jpabook.jpashop.ranking.ItemStock;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.service.ItemService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 목록 (keyset 페이징), 상품명 검색
+ * 판매량 순위, 재고 부족 상품 -> order_item, item 을 스캔하지 않고 ItemRankings 에서 조회 (상품명만 결과 상품에 대해서 조회)
+ */
+@RestController
+@RequiredArgsConstructor
+public class ItemApiController {
+
+    private final ItemRankings itemRankings;
+    private final ItemRepository itemRepository;
+    private final ItemService itemService;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    //keyset 페이징 + count 쿼리
+    @GetMapping("/api/v1/items")
+    public KeysetResult<List<ItemDto>> items(@RequestParam(value = "lastId", required = false) Long lastId,
+                                             @RequestParam(value = "size", defaultValue = "20") int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Item> items = itemService.findItems(lastId, pageSize);
+        Long nextLastId = items.size() == pageSize ? items.get(pageSize - 1).getId() : null;
+
+        return new KeysetResult<>(itemService.countItems(), nextLastId,
+                items.stream().map(i -> new ItemDto(i.getId(), i.getName(), i.getPrice(), i.getStockQuantity())).toList());
+    }
+
+    //주문 화면 type-ahead
+    @GetMapping("/api/v1/items/search")
+    public List<ItemDto> searchItems(@RequestParam("q") String q,
+                                     @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return itemService.searchItems(q, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)).stream()
+                .map(i -> new ItemDto(i.getId(), i.getName(), i.getPrice(), i.getStockQuantity()))
+                .toList();
+    }
+
+    @GetMapping("/api/items/best-sellers")
+    public List<BestSellerDto> bestSellers(@RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                           @RequestParam(value = "top", defaultValue = "100") int top) {
+        List<ItemSales> sales = itemRankings.bestSellers(date == null ? LocalDate.now() : date, top);
+        Map<Long, String> names = itemRepository.findNamesByIds(sales.stream().map(ItemSales::itemId).toList());
+
+        return sales.stream()
+                .map(s -> new BestSellerDto(s.itemId(), names.get(s.itemId()), s.units()))
+                .toList();
+    }
+
+    @GetMapping("/api/items/low-stock")
+    public List<LowStockDto> lowStock(@RequestParam(value = "threshold", defaultValue = "10") int threshold,
+                                      @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        List<ItemStock> stocks = itemRankings.lowStock(threshold, limit);
+        Map<Long, String> names = itemRepository.findNamesByIds(stocks.stream().map(ItemStock::itemId).toList());
+
+        return stocks.stream()
+                .map(s -> new LowStockDto(s.itemId(), names.get(s.itemId()), s.stockQuantity()))
+                .toList();
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class KeysetResult<T> {
+
+        private long count;
+        private Long nextLastId; //다음 페이지 요청 시 lastId (마지막 페이지 -> null)
+        private T data;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class ItemDto {
+
+        private Long id;
+        private String name;
+        private int price;
+        private int stockQuantity;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class BestSellerDto {
+
+        private Long itemId;
+        private String name;
+        private long units;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class LowStockDto {
+
+        private Long itemId;
+        private String name;
+        private int stockQuantity;
+    }
+}
@@ -1,14 +1,20 @@
 package jpabook.jpashop.api;
 
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.idempotency.IdempotencyService;
+import jpabook.jpashop.service.MemberImportResult;
+import jpabook.jpashop.service.MemberImportService;
 import jpabook.jpashop.service.MemberService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController //@Controller 와 @ResponseBody 를 합친 어노테이션
@@ -16,6 +22,10 @@ import java.util.List;
 public class MemberApiController {
 
     private final MemberService memberService;
+    private final IdempotencyService idempotencyService;
+    private final MemberImportService memberImportService;
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     /**
      * 회원가입
@@ -28,15 +38,34 @@ public class MemberApiController {
     }
 
     //dto 와 같은 별도의 객체를 사용하면 유지보수에 아주 용이하다!
+    //Idempotency-Key 헤더 -> 타임아웃 후 재시도해도 같은 회원 id 반환 (중복 검증, 가입을 다시 실행하지 않는다)
     @PostMapping("/api/v2/members")
-    public CreateMemberResponse saveMemberV2(@RequestBody @Valid CreateMemberRequest request) {
-        Member member = new Member();
-        member.setName(request.getName());
-        Long id = memberService.join(member);
+    public CreateMemberResponse saveMemberV2(@RequestBody @Valid CreateMemberRequest request,
+                                             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        Long id = idempotencyService.execute("member", idempotencyKey, () -> {
+            Member member = new Member();
+            member.setName(request.getName());
+            return memberService.join(member);
+        });
 
         return new CreateMemberResponse(id);
     }
 
+    /**
+     * 회원 대량 등록 -> 본문을 스트림으로 읽어서 1000건 단위로 저장, 실패한 row 는 오류 목록으로 반환
+     * JSON : [{"name": "...", "city": "...", "street": "...", "zipcode": "..."}, ...]
+     * CSV : name,city,street,zipcode
+     */
+    @PostMapping(value = "/api/v2/members/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public MemberImportResult importMembersJson(InputStream body) throws IOException {
+        return memberImportService.importJson(body);
+    }
+
+    @PostMapping(value = "/api/v2/members/import", consumes = "text/csv")
+    public MemberImportResult importMembersCsv(InputStream body) throws IOException {
+        return memberImportService.importCsv(body);
+    }
+
     /**
      * 회원정보 수정
      */
@@ -93,6 +122,27 @@ public class MemberApiController {
         return new Result(collect.size(), collect);
     }
 
+    //keyset 페이징 + 전체 회원 수는 count 쿼리로 (회원 전체를 읽지 않는다)
+    @GetMapping("/api/v3/members")
+    public KeysetResult<List<MemberDto>> membersV3(@RequestParam(value = "lastId", required = false) Long lastId,
+                                                   @RequestParam(value = "size", defaultValue = "20") int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Member> members = memberService.findMembers(lastId, pageSize);
+        Long nextLastId = members.size() == pageSize ? members.get(pageSize - 1).getId() : null;
+
+        return new KeysetResult<>(memberService.countMembers(), nextLastId,
+                members.stream().map(m -> new MemberDto(m.getName())).toList());
+    }
+
+    //주문 화면 type-ahead
+    @GetMapping("/api/v1/members/search")
+    public List<MemberSearchDto> searchMembers(@RequestParam("q") String q,
+                                               @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return memberService.searchMembers(q, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)).stream()
+                .map(m -> new MemberSearchDto(m.getId(), m.getName()))
+                .toList();
+    }
+
     @Data
     @AllArgsConstructor
     static class Result<T> {
@@ -100,9 +150,24 @@ public class MemberApiController {
         private T data;
     }
 
+    @Data
+    @AllArgsConstructor
+    static class KeysetResult<T> {
+        private long count;
+        private Long nextLastId; //다음 페이지 요청 시 lastId (마지막 페이지 -> null)
+        private T data;
+    }
+
     @Data
     @AllArgsConstructor
     static class MemberDto {
         private String name;
     }
+
+    @Data
+    @AllArgsConstructor
+    static class MemberSearchDto {
+        private Long id;
+        private String name;
+    }
 }
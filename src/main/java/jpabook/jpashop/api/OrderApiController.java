@@ -4,20 +4,29 @@ import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderItem;
 import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.exception.InvalidFieldsException;
+import jpabook.jpashop.repository.order.query.OrderField;
 import jpabook.jpashop.repository.order.query.OrderFlatDto;
 import jpabook.jpashop.repository.order.query.OrderItemQueryDto;
 import jpabook.jpashop.repository.order.query.OrderQueryDto;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
 import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.service.query.OrderQueryService;
+import jpabook.jpashop.singleflight.SingleFlight;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +39,8 @@ public class OrderApiController {
 
     private final OrderRepository orderRepository;
     private final OrderQueryRepository orderQueryRepository;
+    private final OrderQueryService orderQueryService;
+    private final SingleFlight singleFlight;
 
     /**
      * v1 : 엔티티를 조회해서 그대로 반환
@@ -43,11 +54,13 @@ public class OrderApiController {
      * v1, v2, v3, v3.1 -> 엔티티 조회
      * v4, v5, v6 -> DTO 직접 조회
      * 엔티티 조회 방식으로 우선 접근, 해결이 안되면 DTO 조회 방식 사용
+     *
+     * OSIV off -> 컨트롤러에서는 지연 로딩 불가, fetch plan(entity graph) 또는 서비스 트랜잭션 안에서 필요한 연관관계를 초기화한다.
      */
 
     @GetMapping("/api/v1/orders")
     public List<Order> ordersV1() {
-        List<Order> all = orderRepository.findAllByString(new OrderSearch());
+        List<Order> all = orderQueryService.findOrdersWithItems(new OrderSearch()); //member, delivery 그래프 + orderItems, item batch
 
         for (Order order : all) {
             order.getMember().getName();
@@ -66,7 +79,7 @@ public class OrderApiController {
      */
     @GetMapping("/api/v2/orders")
     public List<OrderDto> ordersV2() {
-        List<Order> orders = orderRepository.findAllByString(new OrderSearch()); //fetch join x
+        List<Order> orders = orderQueryService.findOrdersWithItems(new OrderSearch()); //fetch join x -> entity graph + batch fetch
         List<OrderDto> collect = orders.stream()
                 .map(o -> new OrderDto(o))
                 .toList();
@@ -100,9 +113,9 @@ public class OrderApiController {
     public List<OrderDto> ordersV3_page(@RequestParam(value = "offset", defaultValue = "0") int offset,
                                         @RequestParam(value = "limit", defaultValue = "100") int limit) {
 
-        List<Order> orders = orderRepository.findAllWithMemberDelivery(offset, limit); //order -> member, delivery
+        List<Order> orders = orderQueryService.findOrdersWithItems(offset, limit); //order -> member, delivery (+ orderItems, item batch)
         List<OrderDto> collect = orders.stream()
-                .map(o -> new OrderDto(o)) //orderItems 조회 -> item 조회 (lazy)
+                .map(o -> new OrderDto(o)) //서비스 트랜잭션 안에서 이미 초기화됨
                 .toList();
 
         return collect;
@@ -119,18 +132,31 @@ public class OrderApiController {
     /**
      * 최적화 -> query : 루트 1번, 컬렉션 1번
      * 데이터를 한꺼번에 처리할 때 많이 사용하는 방식
+     *
+     * fields=orderId,orderStatus,totalPrice -> 요청한 필드만 조회해서 반환 (sparse fieldset)
+     * name, address 가 없으면 member, delivery 조인 x, orderItems 가 없으면 컬렉션 쿼리 x (totalPrice 는 sum 쿼리)
+     * 동시에 들어온 같은 요청 (같은 fields) 은 쿼리 한 번의 결과를 나눠 받는다. (single-flight)
      */
     @GetMapping("/api/v5/orders")
-    public List<OrderQueryDto> ordersV5() {
-        return orderQueryRepository.findAllByDto_optimization();
+    public List<?> ordersV5(@RequestParam(value = "fields", required = false) String fields) {
+        if (fields == null) {
+            return singleFlight.execute("orders:v5", orderQueryRepository::findAllByDto_optimization);
+        }
+
+        Set<OrderField> selected = OrderField.parse(fields); //EnumSet -> 순서, 중복이 달라도 같은 키
+        return singleFlight.execute("orders:v5" + selected, () -> orderQueryRepository.findOrderFields(selected));
     }
 
     /**
      * DTO 로 직접 조회, 플랫 데이터 최적화
      */
+    //from, to 가 없으면 hot 테이블만 조회, 범위가 보관 경계 이전을 포함하면 archive 도 함께 조회
     @GetMapping("/api/v6/orders")
-    public List<OrderQueryDto> ordersV6() {
-        List<OrderFlatDto> flats = orderQueryRepository.findAllByDto_flat();
+    public List<OrderQueryDto> ordersV6(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<OrderFlatDto> flats = (from == null && to == null)
+                ? orderQueryRepository.findAllByDto_flat()
+                : orderQueryRepository.findAllByDto_flat(from, to);
 
         //OrderFlatDto -> OrderQueryDto 변환
         return flats.stream()
@@ -144,6 +170,13 @@ public class OrderApiController {
                 .toList();
     }
 
+    //fields= 파라미터 오류만 400 (다른 IllegalArgumentException 은 서버 오류로 남긴다)
+    @ExceptionHandler(InvalidFieldsException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String invalidFields(InvalidFieldsException e) {
+        return e.getMessage();
+    }
+
     @Data
     static class OrderDto {
 
@@ -0,0 +1,47 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.pipeline.OrderPipeline;
+import jpabook.jpashop.pipeline.OrderTicket;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 비동기 주문 (jpashop.order-pipeline.enabled=true)
+ * 접수 -> 202 + 티켓, 티켓 조회로 주문 완료 여부 확인
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jpashop.order-pipeline.enabled", havingValue = "true")
+public class OrderPipelineApiController {
+
+    private final OrderPipeline orderPipeline;
+
+    @PostMapping("/api/v1/orders/async")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public OrderTicket orderAsync(@RequestBody CreateOrderRequest request) {
+        return orderPipeline.submit(request.getMemberId(), request.getItemId(), request.getCount());
+    }
+
+    @GetMapping("/api/v1/orders/async/{ticketId}")
+    public ResponseEntity<OrderTicket> ticket(@PathVariable("ticketId") String ticketId) {
+        return ResponseEntity.of(orderPipeline.findTicket(ticketId));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String invalidOrder(IllegalArgumentException e) {
+        return e.getMessage();
+    }
+
+    @Data
+    static class CreateOrderRequest {
+
+        private Long memberId;
+        private Long itemId;
+        private int count;
+    }
+}
@@ -3,10 +3,13 @@ package jpabook.jpashop.api;
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.FetchGraph;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
 import jpabook.jpashop.repository.order.simpleQuery.OrderSimpleQueryDto;
 import jpabook.jpashop.repository.order.simpleQuery.OrderSimpleQueryRepository;
+import jpabook.jpashop.service.query.OrderQueryService;
+import jpabook.jpashop.singleflight.SingleFlight;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,16 +28,19 @@ public class OrderSimpleApiController {
 
     private final OrderRepository orderRepository;
     private final OrderSimpleQueryRepository orderSimpleQueryRepository;
+    private final OrderQueryService orderQueryService;
+    private final SingleFlight singleFlight;
 
     //엔티티를 API 응답으로 외부로 노출 x -> DTO 로 변환해서 반환하자
     @GetMapping("/api/v1/simple-orders")
     public List<Order> ordersV1() {
         //양방향 무한루프에 빠진다 -> @JsonIgnore, Hibernate5Module
-        List<Order> all = orderRepository.findAllByString(new OrderSearch());
+        //엔티티를 그대로 반환하면 getTotalPrice() 까지 직렬화되므로 orderItems 도 초기화해야 한다 (OSIV off)
+        List<Order> all = orderQueryService.findOrdersWithItems(new OrderSearch());
 
         for (Order order : all) {
-            order.getMember().getName(); //Lazy 강제 초기화
-            order.getDelivery().getAddress(); //Lazy 강제 초기화
+            order.getMember().getName(); //entity graph 로 이미 초기화 (OSIV off)
+            order.getDelivery().getAddress();
         }
 
         return all;
@@ -45,7 +51,8 @@ public class OrderSimpleApiController {
     public List<SimpleOrderDto> ordersV2() {
         //ORDER N번
         //N + 1 문제 발생 -> 1 + 회원 N + 배송 N -> SQL (2N + 1)번 실행 (V1 과 쿼리수 결과는 같다)
-        List<Order> orders = orderRepository.findAllByString(new OrderSearch());
+        //OSIV off -> 지연 로딩 대신 fetch plan 으로 member, delivery 를 함께 조회
+        List<Order> orders = orderRepository.findAllByString(new OrderSearch(), FetchGraph.ORDER_MEMBER_DELIVERY);
         List<SimpleOrderDto> result = orders.stream()
                 .map(o -> new SimpleOrderDto(o))
                 .toList();
@@ -71,10 +78,11 @@ public class OrderSimpleApiController {
     /**
      * DTO 로 바로 조회
      * new 명령어를 사용해서 JPQL 의 결과를 DTO 로 즉시 변환 (V3과 성능차이가 미비하다.)
+     * 동시에 들어온 같은 요청은 쿼리 한 번의 결과를 나눠 받는다. (single-flight)
      */
     @GetMapping("/api/v4/simple-orders")
     public List<OrderSimpleQueryDto> ordersV4() {
-        return orderSimpleQueryRepository.findOrderDtos();
+        return singleFlight.execute("simple-orders:v4", orderSimpleQueryRepository::findOrderDtos);
     }
 
     @Data
@@ -0,0 +1,43 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.analytics.SalesAnalyticsService;
+import jpabook.jpashop.analytics.SalesColumnStore;
+import jpabook.jpashop.analytics.SalesGroupBy;
+import jpabook.jpashop.analytics.SalesRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 매출 집계 (상품별, 카테고리별, 도시별, 전체 + 날짜별)
+ * ex) /api/analytics/sales?by=CITY&from=2022-01-01&to=2022-01-31&daily=true&top=5
+ */
+@RestController
+@RequiredArgsConstructor
+public class SalesAnalyticsApiController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final SalesColumnStore salesColumnStore;
+
+    @GetMapping("/api/analytics/sales")
+    public List<SalesRow> sales(@RequestParam(value = "by", defaultValue = "ITEM") SalesGroupBy by,
+                                @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                @RequestParam(value = "daily", defaultValue = "false") boolean daily,
+                                @RequestParam(value = "top", defaultValue = "10") int top) {
+        return salesAnalyticsService.findSales(by, from, to, daily, top);
+    }
+
+    //스케줄(jpashop.analytics.refresh-ms)을 기다리지 않고 새 주문 반영
+    @PostMapping("/api/analytics/sales/refresh")
+    public long refresh() {
+        salesColumnStore.refresh();
+        return salesColumnStore.rows();
+    }
+}
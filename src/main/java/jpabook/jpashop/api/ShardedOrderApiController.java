@@ -0,0 +1,69 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.repository.order.query.OrderFlatDto;
+import jpabook.jpashop.repository.order.simpleQuery.OrderSimpleQueryDto;
+import jpabook.jpashop.shard.ShardedOrderService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * 회원 id 기준으로 shard 된 주문 API (jpashop.shard.enabled=true)
+ */
+@RestController
+@ConditionalOnProperty(name = "jpashop.shard.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardedOrderApiController {
+
+    private final ShardedOrderService shardedOrderService;
+
+    @PostMapping("/api/shard/orders")
+    public CreateOrderResponse order(@RequestBody @Valid CreateOrderRequest request) {
+        Long orderId = shardedOrderService.order(request.getMemberId(), request.getItemId(), request.getCount());
+        return new CreateOrderResponse(orderId);
+    }
+
+    @PostMapping("/api/shard/orders/{orderId}/cancel")
+    public void cancelOrder(@PathVariable("orderId") Long orderId) {
+        shardedOrderService.cancelOrder(orderId);
+    }
+
+    //모든 shard 조회 후 최신순 병합 (order, member, delivery)
+    @GetMapping("/api/shard/simple-orders")
+    public List<OrderSimpleQueryDto> simpleOrders(@RequestParam(value = "offset", defaultValue = "0") int offset,
+                                                  @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        return shardedOrderService.findAllWithMemberDelivery(offset, limit);
+    }
+
+    //모든 shard 조회 후 최신순 병합 (order, member, delivery, orderItems, item) -> 주문 단위 페이징
+    @GetMapping("/api/shard/flat-orders")
+    public List<OrderFlatDto> flatOrders(@RequestParam(value = "offset", defaultValue = "0") int offset,
+                                         @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        return shardedOrderService.findAllByDto_flat(offset, limit);
+    }
+
+    @Data
+    static class CreateOrderRequest {
+        @NotNull
+        private Long memberId;
+        @NotNull
+        private Long itemId;
+        @Min(1)
+        private int count;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateOrderResponse {
+        private Long orderId;
+    }
+}
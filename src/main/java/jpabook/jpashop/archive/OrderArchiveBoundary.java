@@ -0,0 +1,50 @@
+package jpabook.jpashop.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * hot / cold 경계 -> archivedBefore 이전 주문일은 archive 테이블에 있을 수 있다.
+ * 조회 범위가 경계 이후라면 hot 테이블만 조회한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderArchiveBoundary {
+
+    private final OrderArchiveRepository orderArchiveRepository;
+
+    private volatile LocalDateTime archivedBefore; //null -> 보관된 주문 없음
+
+    //재시작 시 보관된 가장 최근 주문일로 경계 복원
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1) //InitDb 시드 다음, ApplicationWarmup 전
+    public void load() {
+        LocalDateTime latest = orderArchiveRepository.findLatestArchivedOrderDate();
+
+        if (latest != null) {
+            advanceTo(latest.plusNanos(1));
+        }
+    }
+
+    public synchronized void advanceTo(LocalDateTime cutoff) {
+        if (archivedBefore == null || cutoff.isAfter(archivedBefore)) {
+            archivedBefore = cutoff;
+        }
+    }
+
+    //from == null -> 하한 없는 조회
+    public boolean requiresArchive(LocalDateTime from) {
+        LocalDateTime boundary = archivedBefore;
+        return boundary != null && (from == null || from.isBefore(boundary));
+    }
+
+    public LocalDateTime getArchivedBefore() {
+        return archivedBefore;
+    }
+}
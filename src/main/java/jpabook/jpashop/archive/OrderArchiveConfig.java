@@ -0,0 +1,9 @@
+package jpabook.jpashop.archive;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OrderArchiveProperties.class)
+public class OrderArchiveConfig {
+}
@@ -0,0 +1,15 @@
+package jpabook.jpashop.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties("jpashop.archive")
+public class OrderArchiveProperties {
+
+    private boolean enabled; //true -> 스케줄러 등록
+    private int hotDays = 90; //주문일 기준 hot 보관 기간
+    private int batchSize = 500; //트랜잭션 하나에서 옮기는 주문 수
+    private String cron = "0 0 3 * * *";
+}
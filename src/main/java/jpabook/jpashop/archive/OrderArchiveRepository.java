@@ -0,0 +1,66 @@
+package jpabook.jpashop.archive;
+
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * hot (orders, order_item, delivery) -> cold (*_archive) 이동
+ * 엔티티를 읽지 않고 insert ... select, delete 만 실행한다. (영속성 컨텍스트를 거치지 않는 벌크 연산)
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository {
+
+    private final EntityManager em;
+
+    //종료된 주문만 보관 (취소 또는 배송완료) -> 진행 중인 주문은 cutoff 이전이어도 hot 에 남아 취소/배송 처리가 가능하다.
+    public List<Long> findOrderIdsBefore(LocalDateTime cutoff, int limit) {
+        return em.createQuery(
+                "select o.id from Order o " +
+                        "join o.delivery d " +
+                        "where o.orderDate < :cutoff " +
+                        "and (o.status = :cancel or d.status = :comp) " +
+                        "order by o.id", Long.class)
+                .setParameter("cutoff", cutoff)
+                .setParameter("cancel", OrderStatus.CANCEL)
+                .setParameter("comp", DeliveryStatus.COMP)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    //FK 순서 : insert -> delivery, orders, order_item / delete -> order_item, orders, delivery
+    public void moveToArchive(List<Long> orderIds) {
+        execute("insert into delivery_archive (delivery_id, city, street, zipcode, status) " +
+                "select d.delivery_id, d.city, d.street, d.zipcode, d.status from delivery d " +
+                "join orders o on o.delivery_id = d.delivery_id " +
+                "where o.order_id in (:orderIds)", orderIds);
+        execute("insert into orders_archive (order_id, member_id, delivery_id, order_date, status) " +
+                "select o.order_id, o.member_id, o.delivery_id, o.order_date, o.status from orders o " +
+                "where o.order_id in (:orderIds)", orderIds);
+        execute("insert into order_item_archive (order_item_id, order_id, item_id, order_price, count) " +
+                "select oi.order_item_id, oi.order_id, oi.item_id, oi.order_price, oi.count from order_item oi " +
+                "where oi.order_id in (:orderIds)", orderIds);
+
+        execute("delete from order_item where order_id in (:orderIds)", orderIds);
+        execute("delete from orders where order_id in (:orderIds)", orderIds);
+        execute("delete from delivery where delivery_id in " +
+                "(select oa.delivery_id from orders_archive oa where oa.order_id in (:orderIds))", orderIds);
+    }
+
+    public LocalDateTime findLatestArchivedOrderDate() {
+        return em.createQuery("select max(ao.orderDate) from ArchivedOrder ao", LocalDateTime.class)
+                .getSingleResult();
+    }
+
+    private void execute(String sql, List<Long> orderIds) {
+        em.createNativeQuery(sql)
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+    }
+}
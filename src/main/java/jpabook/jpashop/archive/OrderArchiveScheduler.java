@@ -0,0 +1,19 @@
+package jpabook.jpashop.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "jpashop.archive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OrderArchiveScheduler {
+
+    private final OrderArchiveService orderArchiveService;
+
+    @Scheduled(cron = "${jpashop.archive.cron:0 0 3 * * *}")
+    public void archive() {
+        orderArchiveService.archiveOlderThanHotDays();
+    }
+}
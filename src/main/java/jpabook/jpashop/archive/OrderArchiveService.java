@@ -0,0 +1,55 @@
+package jpabook.jpashop.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 오래된 주문을 archive 테이블로 이동
+ * batchSize 단위로 트랜잭션을 나눠서 락, undo 를 짧게 유지한다. (한 주문은 항상 hot, cold 중 한쪽에만 존재)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveService {
+
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final OrderArchiveBoundary orderArchiveBoundary;
+    private final OrderArchiveProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    public int archiveOlderThanHotDays() {
+        return archiveOlderThan(LocalDateTime.now().minusDays(properties.getHotDays()));
+    }
+
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        //옮기는 도중에도 범위 조회가 archive 를 함께 보도록 경계를 먼저 옮긴다.
+        orderArchiveBoundary.advanceTo(cutoff);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int batchSize = properties.getBatchSize();
+        int archived = 0;
+        int moved;
+
+        do {
+            moved = transaction.execute(status -> {
+                List<Long> orderIds = orderArchiveRepository.findOrderIdsBefore(cutoff, batchSize);
+
+                if (!orderIds.isEmpty()) {
+                    orderArchiveRepository.moveToArchive(orderIds);
+                }
+
+                return orderIds.size();
+            });
+            archived += moved;
+        } while (moved == batchSize);
+
+        log.info("archived {} orders before {}", archived, cutoff);
+        return archived;
+    }
+}
@@ -0,0 +1,20 @@
+package jpabook.jpashop.batchfetch;
+
+import org.hibernate.integrator.spi.Integrator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 연관관계별 batch fetch 크기 -> 세션 팩토리가 persister 를 만들기 전에 매핑 정보 (@BatchSize 와 같은 값) 를 바꾼다.
+ * 크기는 시작 시점에 고정되므로 adaptive 모드의 권장 크기는 다음 시작부터 적용된다.
+ */
+@Configuration
+@EnableConfigurationProperties(BatchFetchProperties.class)
+public class BatchFetchConfig {
+
+    @Bean
+    public Integrator batchFetchIntegrator(BatchFetchProperties properties, BatchFetchStatistics statistics) {
+        return new BatchFetchIntegrator(properties, statistics); //HibernateIntegratorConfig 에서 등록
+    }
+}
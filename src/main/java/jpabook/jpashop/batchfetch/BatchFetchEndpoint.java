@@ -0,0 +1,31 @@
+package jpabook.jpashop.batchfetch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/batchfetch -> 연관관계별 적용 크기, 지연 로딩 관측, 권장 크기
+ * POST /actuator/batchfetch -> 권장 크기를 지금 저장 (다음 시작부터 적용)
+ */
+@Component
+@Endpoint(id = "batchfetch")
+@RequiredArgsConstructor
+public class BatchFetchEndpoint {
+
+    private final BatchFetchStatistics statistics;
+
+    @ReadOperation
+    public Map<String, BatchFetchSnapshot> associations() {
+        return statistics.snapshot();
+    }
+
+    @WriteOperation
+    public Map<String, Integer> save() {
+        return statistics.save();
+    }
+}
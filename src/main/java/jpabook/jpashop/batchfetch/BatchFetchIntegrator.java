@@ -0,0 +1,99 @@
+package jpabook.jpashop.batchfetch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.ToOne;
+import org.hibernate.mapping.Value;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 세션 팩토리 생성 중 (persister 생성 전) 호출된다.
+ * 1. 연관관계별 batch fetch 크기를 매핑 정보에 반영 (adaptive 면 저장된 권장 크기가 우선)
+ * 2. adaptive 면 지연 로딩 리스너 등록
+ */
+@Slf4j
+@RequiredArgsConstructor
+class BatchFetchIntegrator implements Integrator {
+
+    private final BatchFetchProperties properties;
+    private final BatchFetchStatistics statistics;
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        Map<String, Integer> sizes = new LinkedHashMap<>(properties.getSizes());
+        if (properties.isAdaptive()) {
+            sizes.putAll(statistics.loadRecommendations());
+        }
+
+        sizes.forEach((association, size) -> apply(metadata, association, size));
+
+        if (properties.isAdaptive()) {
+            BatchFetchListener listener = new BatchFetchListener(statistics, properties.getAdaptiveMax());
+            EventListenerRegistry listeners = serviceRegistry.getService(EventListenerRegistry.class);
+            listeners.prependListeners(EventType.INIT_COLLECTION, listener);
+            listeners.prependListeners(EventType.LOAD, listener);
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    private void apply(Metadata metadata, String association, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("batch fetch 크기는 1 이상이어야 합니다: " + association + "=" + size);
+        }
+
+        int dot = association.indexOf('.');
+        PersistentClass owner = entity(metadata, dot < 0 ? association : association.substring(0, dot));
+
+        if (dot < 0) {
+            applyToEntity(owner, size);
+            return;
+        }
+
+        String property = association.substring(dot + 1);
+        Collection collection = metadata.getCollectionBinding(owner.getEntityName() + "." + property);
+        if (collection != null) {
+            collection.setBatchSize(size);
+            statistics.applied(association, size);
+            log.info("batch fetch: {} -> {}", association, size);
+            return;
+        }
+
+        //XToOne 프록시는 대상 엔티티 단위로 모아서 조회한다. (OrderItem.item -> Item)
+        Value value = owner.getProperty(property).getValue();
+        if (!(value instanceof ToOne toOne)) {
+            throw new IllegalArgumentException("컬렉션이나 XToOne 연관관계가 아닙니다: " + association);
+        }
+
+        applyToEntity(metadata.getEntityBinding(toOne.getReferencedEntityName()), size);
+    }
+
+    private void applyToEntity(PersistentClass entity, int size) {
+        PersistentClass root = entity.getRootClass();
+        root.setBatchSize(size);
+
+        String name = StringHelper.unqualify(root.getEntityName());
+        statistics.applied(name, size);
+        log.info("batch fetch: {} -> {}", name, size);
+    }
+
+    private static PersistentClass entity(Metadata metadata, String name) {
+        return metadata.getEntityBindings().stream()
+                .filter(entity -> StringHelper.unqualify(entity.getEntityName()).equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("알 수 없는 엔티티입니다: " + name));
+    }
+}
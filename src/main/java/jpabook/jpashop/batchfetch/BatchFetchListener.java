@@ -0,0 +1,68 @@
+package jpabook.jpashop.batchfetch;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.BatchFetchQueue;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.io.Serializable;
+
+/**
+ * 지연 로딩 (컬렉션 초기화, 프록시 초기화) 직전에 같은 연관관계에서 아직 로딩되지 않은 수를 센다.
+ * = batch fetch 크기가 충분히 컸다면 이번 select 한 번에 같이 가져왔을 수
+ * 실제 로딩은 기본 리스너가 한다. (prepend)
+ */
+@RequiredArgsConstructor
+class BatchFetchListener implements InitializeCollectionEventListener, LoadEventListener {
+
+    private final BatchFetchStatistics statistics;
+    private final int max;
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        PersistentCollection collection = event.getCollection();
+        if (collection.wasInitialized()) {
+            return;
+        }
+
+        EventSource session = event.getSession();
+        CollectionPersister persister = session.getFactory().getMetamodel().collectionPersister(collection.getRole());
+        Serializable[] keys = batchFetchQueue(session).getCollectionBatch(persister, collection.getKey(), max);
+
+        statistics.record(BatchFetchStatistics.key(persister), pending(keys));
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        if (loadType != IMMEDIATE_LOAD) { //프록시 초기화만 (em.find, 쿼리 x)
+            return;
+        }
+
+        EventSource session = event.getSession();
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(event.getEntityClassName());
+        Serializable[] ids = batchFetchQueue(session).getEntityBatch(persister, event.getEntityId(), max, persister.getEntityMode());
+
+        statistics.record(BatchFetchStatistics.key(persister), pending(ids));
+    }
+
+    private static BatchFetchQueue batchFetchQueue(EventSource session) {
+        return session.getPersistenceContext().getBatchFetchQueue();
+    }
+
+    private static int pending(Serializable[] keys) {
+        int pending = 0;
+        for (Serializable key : keys) {
+            if (key != null) {
+                pending++;
+            }
+        }
+
+        return pending;
+    }
+}
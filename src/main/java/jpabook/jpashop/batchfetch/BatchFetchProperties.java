@@ -0,0 +1,24 @@
+package jpabook.jpashop.batchfetch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter @Setter
+@ConfigurationProperties("jpashop.batch-fetch")
+public class BatchFetchProperties {
+
+    //연관관계별 batch fetch 크기 -> 키: Order.orderItems (컬렉션), OrderItem.item (XToOne -> 대상 엔티티), Item (엔티티)
+    //없는 연관관계는 hibernate.default_batch_fetch_size
+    private Map<String, Integer> sizes = new LinkedHashMap<>();
+
+    private boolean adaptive = false; //지연 로딩 때마다 대기 중인 프록시 수를 기록하고 권장 크기를 계산
+    private int adaptiveMin = 10; //권장 크기 하한
+    private int adaptiveMax = 1000; //권장 크기 상한 (기록하는 대기 수도 여기까지)
+    private double adaptivePercentile = 0.9; //대기 수 분포의 이 백분위를 권장 크기로
+    private int adaptiveMinSamples = 20; //관측이 이보다 적은 연관관계는 권장하지 않는다.
+    private String adaptiveFile = "batch-fetch.properties"; //종료 시 권장 크기 저장 -> 다음 시작 때 sizes 대신 적용
+}
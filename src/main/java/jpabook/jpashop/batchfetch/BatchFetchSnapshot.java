@@ -0,0 +1,11 @@
+package jpabook.jpashop.batchfetch;
+
+/**
+ * 연관관계별 batch fetch 현황
+ * initializations: 지연 로딩 select 수, pending*: 그때마다 아직 로딩되지 않았던 같은 연관관계 수
+ * recommended: 관측이 adaptiveMinSamples 이상일 때만 (아니면 null)
+ */
+public record BatchFetchSnapshot(String association, Integer batchSize, long initializations,
+                                 double pendingAvg, int pendingP50, int pendingP90, int pendingMax,
+                                 Integer recommended) {
+}
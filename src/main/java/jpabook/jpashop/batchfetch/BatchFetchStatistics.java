@@ -0,0 +1,189 @@
+package jpabook.jpashop.batchfetch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 연관관계별 적용 크기와 지연 로딩 관측 -> 권장 batch fetch 크기
+ * 관측은 대기 수별 카운트 (0 ~ adaptiveMax) 로만 남긴다. -> 요청 수와 상관없이 연관관계당 고정 크기
+ */
+@Slf4j
+@Component
+public class BatchFetchStatistics implements DisposableBean {
+
+    private final BatchFetchProperties properties;
+    private final Map<String, Integer> sizes = new ConcurrentHashMap<>();
+    private final Map<String, Observations> observations = new ConcurrentHashMap<>();
+
+    public BatchFetchStatistics(BatchFetchProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 통계 키 -> 컬렉션: Order.orderItems, 엔티티 (XToOne 프록시): Item
+     */
+    static String key(CollectionPersister persister) {
+        String role = persister.getRole();
+        return StringHelper.unqualify(StringHelper.qualifier(role)) + "." + StringHelper.unqualify(role);
+    }
+
+    static String key(EntityPersister persister) {
+        return StringHelper.unqualify(persister.getRootEntityName());
+    }
+
+    void applied(String association, int size) {
+        sizes.put(association, size);
+    }
+
+    void record(String association, int pending) {
+        observations.computeIfAbsent(association, a -> new Observations(properties.getAdaptiveMax()))
+                .record(pending);
+    }
+
+    public Map<String, BatchFetchSnapshot> snapshot() {
+        Map<String, BatchFetchSnapshot> snapshot = new TreeMap<>();
+
+        sizes.forEach((association, size) ->
+                snapshot.put(association, new BatchFetchSnapshot(association, size, 0, 0, 0, 0, 0, null)));
+        observations.forEach((association, observed) -> snapshot.put(association, observed.snapshot(association)));
+
+        return snapshot;
+    }
+
+    public Map<String, Integer> recommendations() {
+        Map<String, Integer> recommendations = new TreeMap<>();
+
+        snapshot().forEach((association, s) -> {
+            if (s.recommended() != null) {
+                recommendations.put(association, s.recommended());
+            }
+        });
+
+        return recommendations;
+    }
+
+    /**
+     * 권장 크기 저장 -> 기존 파일의 다른 연관관계 값은 유지
+     */
+    public Map<String, Integer> save() {
+        Map<String, Integer> saved = new TreeMap<>(loadRecommendations());
+        saved.putAll(recommendations());
+
+        Properties file = new Properties();
+        saved.forEach((association, size) -> file.setProperty(association, String.valueOf(size)));
+
+        Path path = Path.of(properties.getAdaptiveFile());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(path)) {
+                file.store(writer, "jpashop batch fetch sizes (adaptive)");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(path + " 에 권장 크기를 저장하지 못했습니다.", e);
+        }
+
+        return saved;
+    }
+
+    Map<String, Integer> loadRecommendations() {
+        Path path = Path.of(properties.getAdaptiveFile());
+        Map<String, Integer> recommendations = new TreeMap<>();
+
+        if (Files.notExists(path)) {
+            return recommendations;
+        }
+
+        Properties file = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            file.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(path + " 을 읽지 못했습니다.", e);
+        }
+
+        file.stringPropertyNames().forEach(association ->
+                recommendations.put(association, Integer.parseInt(file.getProperty(association).trim())));
+
+        return recommendations;
+    }
+
+    public void reset() {
+        observations.clear();
+    }
+
+    @Override
+    public void destroy() {
+        if (properties.isAdaptive() && !observations.isEmpty()) {
+            log.info("batch fetch: 권장 크기 저장 {} -> {}", properties.getAdaptiveFile(), save());
+        }
+    }
+
+    private class Observations {
+
+        final AtomicLongArray counts; //counts[n] = 대기 수가 n 이었던 횟수
+
+        Observations(int max) {
+            this.counts = new AtomicLongArray(max + 1);
+        }
+
+        void record(int pending) {
+            counts.incrementAndGet(Math.min(pending, counts.length() - 1));
+        }
+
+        BatchFetchSnapshot snapshot(String association) {
+            long[] copy = new long[counts.length()];
+            long n = 0;
+            long sum = 0;
+            int max = 0;
+
+            for (int pending = 0; pending < copy.length; pending++) {
+                copy[pending] = counts.get(pending);
+                n += copy[pending];
+                sum += copy[pending] * pending;
+                if (copy[pending] > 0) {
+                    max = pending;
+                }
+            }
+
+            Integer recommended = null;
+            if (n >= properties.getAdaptiveMinSamples() && n > 0) {
+                int target = percentile(copy, n, properties.getAdaptivePercentile());
+                recommended = Math.max(properties.getAdaptiveMin(), Math.min(properties.getAdaptiveMax(), target));
+            }
+
+            return new BatchFetchSnapshot(association, sizes.get(association), n, n == 0 ? 0 : (double) sum / n,
+                    percentile(copy, n, 0.5), percentile(copy, n, 0.9), max, recommended);
+        }
+
+        private static int percentile(long[] counts, long n, double q) {
+            long rank = Math.max(1, (long) Math.ceil(q * n));
+            long seen = 0;
+
+            for (int pending = 0; pending < counts.length; pending++) {
+                seen += counts[pending];
+                if (seen >= rank) {
+                    return pending;
+                }
+            }
+
+            return 0;
+        }
+    }
+}
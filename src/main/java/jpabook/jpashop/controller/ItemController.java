@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -19,6 +20,8 @@ public class ItemController {
 
     private final ItemService itemService;
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @GetMapping("/items/new")
     public String createForm(Model model) {
         model.addAttribute("form", new BookForm());
@@ -42,9 +45,15 @@ public class ItemController {
     }
 
     @GetMapping("/items")
-    public String list(Model model) {
-        List<Item> items = itemService.findItems();
+    public String list(@RequestParam(value = "lastId", required = false) Long lastId,
+                       @RequestParam(value = "size", defaultValue = "20") int size, Model model) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Item> items = itemService.findItems(lastId, pageSize); //keyset 페이징 (상품 전체 x)
+
         model.addAttribute("items",items);
+        model.addAttribute("total", itemService.countItems());
+        model.addAttribute("size", pageSize);
+        model.addAttribute("nextLastId", items.size() == pageSize ? items.get(pageSize - 1).getId() : null);
 
         return "items/itemList";
     }
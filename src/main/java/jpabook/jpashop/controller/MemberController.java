@@ -9,6 +9,7 @@ import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -19,6 +20,8 @@ public class MemberController {
 
     private final MemberService memberService;
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @GetMapping("/members/new")
     public String createForm(Model model) {
         model.addAttribute("memberForm", new MemberForm());
@@ -42,10 +45,16 @@ public class MemberController {
     }
 
     @GetMapping("/members")
-    public String list(Model model) {
+    public String list(@RequestParam(value = "lastId", required = false) Long lastId,
+                       @RequestParam(value = "size", defaultValue = "20") int size, Model model) {
         //entity 를 직접 뿌리는 것보단 dto 에 담아서 전달하는 것을 권장
-        List<Member> members = memberService.findMembers();
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Member> members = memberService.findMembers(lastId, pageSize); //keyset 페이징 (회원 전체 x)
+
         model.addAttribute("members", members);
+        model.addAttribute("total", memberService.countMembers());
+        model.addAttribute("size", pageSize);
+        model.addAttribute("nextLastId", members.size() == pageSize ? members.get(pageSize - 1).getId() : null);
 
         return "members/memberList";
     }
@@ -1,18 +1,25 @@
 package jpabook.jpashop.controller;
 
 import jpabook.jpashop.domain.Member;
-import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.idempotency.IdempotencyService;
+import jpabook.jpashop.pipeline.OrderPipeline;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.order.query.OrderListQueryDto;
 import jpabook.jpashop.service.ItemService;
 import jpabook.jpashop.service.MemberService;
 import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.service.query.OrderQueryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.UUID;
 
 @Controller
 @RequiredArgsConstructor
@@ -21,29 +28,51 @@ public class OrderController {
     private final OrderService orderService;
     private final MemberService memberService;
     private final ItemService itemService;
+    private final OrderQueryService orderQueryService;
+    private final ObjectProvider<OrderPipeline> orderPipeline; //jpashop.order-pipeline.enabled=true 일 때만 존재
+    private final IdempotencyService idempotencyService;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int FORM_SUGGESTIONS = 20;
 
     @GetMapping("/order")
     public String createForm(Model model) {
-        List<Member> members = memberService.findMembers();
-        List<Item> items = itemService.findItems();
+        //전체 회원, 상품 대신 처음 몇 건만 -> 나머지는 이름 검색 (/api/v1/members/search, /api/v1/items/search)
+        List<Member> members = memberService.findMembers(null, FORM_SUGGESTIONS);
+        List<Item> items = itemService.findItems(null, FORM_SUGGESTIONS);
 
         model.addAttribute("members", members);
         model.addAttribute("items", items);
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString()); //폼 재전송(새로고침, 더블 클릭) -> 같은 주문
 
         return "order/orderForm";
     }
 
     @PostMapping("/order")
     public String order(@RequestParam("memberId") Long memberId, @RequestParam("itemId") Long itemId,
-                        @RequestParam("count") int count) {
+                        @RequestParam("count") int count,
+                        @RequestParam(value = "idempotencyKey", required = false) String idempotencyKey) {
+
+        OrderPipeline pipeline = orderPipeline.getIfAvailable();
+
+        //파이프라인은 접수 시점에 주문 id 가 없어 멱등키 결과를 남길 수 없다. -> 멱등키가 있는 요청은 동기 주문으로 (재전송 -> 같은 주문)
+        if (pipeline != null && !StringUtils.hasText(idempotencyKey)) {
+            pipeline.submit(memberId, itemId, count); //접수만 하고 바로 반환 -> 커밋 후 주문 내역에 나타난다.
+        } else {
+            idempotencyService.execute("order", idempotencyKey, () -> orderService.order(memberId, itemId, count));
+        }
 
-        orderService.order(memberId, itemId, count);
         return "redirect:/orders";
     }
 
     @GetMapping("/orders")
-    public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch, Model model) {
-        List<Order> orders = orderService.findOrders(orderSearch);
+    public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch,
+                            @RequestParam(value = "page", defaultValue = "0") int page,
+                            @RequestParam(value = "size", defaultValue = "20") int size, Model model) {
+
+        //엔티티 1000건 + 지연 로딩 대신 대표상품까지 포함된 DTO 를 페이지 단위로 조회
+        Page<OrderListQueryDto> orders = orderQueryService.findOrderList(orderSearch, Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
         model.addAttribute("orders", orders);
 
         return "order/orderList";
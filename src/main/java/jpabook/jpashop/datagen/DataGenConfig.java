@@ -0,0 +1,9 @@
+package jpabook.jpashop.datagen;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DataGenProperties.class)
+public class DataGenConfig {
+}
@@ -0,0 +1,31 @@
+package jpabook.jpashop.datagen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * 대량 데이터 생성 설정 -> 같은 seed, chunk-size 면 스레드 수와 관계없이 같은 데이터가 만들어진다.
+ * (id 는 생성 시점의 시퀀스 값부터 시작하므로, 비교는 시작 id 기준 상대 위치로)
+ */
+@Getter @Setter
+@ConfigurationProperties("jpashop.datagen")
+public class DataGenProperties {
+
+    private long seed = 42;
+    private int members = 100_000;
+    private int items = 10_000; //Book, Album, Movie 를 번갈아 생성
+    private int categories = 50;
+    private int orders = 1_000_000;
+    private int maxItemsPerOrder = 3; //주문 1건당 상품 1 ~ max 개
+    private double itemSkew = 1.0; //상품 인기도 Zipf 지수 (0 -> 균등)
+    private int days = 365; //주문일 범위 (end-date 기준 과거 days 일)
+    private double recentSkew = 2.0; //1 보다 크면 최근 주문일수록 많아진다.
+    private LocalDate endDate; //null -> 오늘
+    private double cancelRatio = 0.1;
+    private int threads = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    private int chunkSize = 10_000; //트랜잭션 하나 (JDBC batch 하나) 에 넣는 row 수
+    private boolean exitOnComplete = true; //datagen 프로필 -> 생성이 끝나면 애플리케이션 종료
+}
@@ -0,0 +1,9 @@
+package jpabook.jpashop.datagen;
+
+/**
+ * 생성 결과 -> *Base 는 각 테이블에서 이번에 생성한 id 의 시작 직전 값 (id = base + 1 ...)
+ */
+public record DataGenResult(long memberBase, long categoryBase, long itemBase, long orderBase,
+                            int members, int categories, int items, int orders, long orderItems,
+                            long elapsedMillis) {
+}
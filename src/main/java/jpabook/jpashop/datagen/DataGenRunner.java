@@ -0,0 +1,35 @@
+package jpabook.jpashop.datagen;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * datagen 프로필 -> 시작할 때 대량 데이터를 생성하고 종료 (CLI)
+ * ./gradlew bootRun --args='--spring.profiles.active=datagen --jpashop.datagen.orders=10000000'
+ * 스키마는 Flyway 마이그레이션 (prod 프로필과 같음) -> 생성 후 prod 프로필로 실행하면 그대로 사용한다.
+ *
+ * ApplicationReadyEvent 전에 종료하므로, 시작 시점에 전체 데이터를 읽는 리스너 (랭킹, 매출 집계 등) 는 실행되지 않는다.
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class DataGenRunner implements ApplicationRunner {
+
+    private final DataGenerator dataGenerator;
+    private final DataGenProperties dataGenProperties;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        dataGenerator.generate(dataGenProperties);
+
+        if (dataGenProperties.isExitOnComplete()) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+}
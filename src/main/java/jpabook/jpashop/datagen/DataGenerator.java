@@ -0,0 +1,360 @@
+package jpabook.jpashop.datagen;
+
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대량 데이터 생성기 (회원, 카테고리, 상품(Book, Album, Movie), 주문 + 배송 + 주문상품)
+ *
+ * 엔티티 대신 JDBC batch insert 로 chunk 단위 트랜잭션을 여러 스레드에서 병렬로 넣는다.
+ * chunk 마다 (seed, 테이블, chunk 번호) 로 난수를 만들기 때문에 스레드 수, 실행 순서와 관계없이 결과가 같다.
+ *
+ * id 는 시작할 때 시퀀스 (member_seq, hibernate_sequence) 에서 필요한 범위를 한 번에 예약한다.
+ * 예약하는 동안 다른 곳에서 엔티티를 저장하면 안 되므로, datagen 프로필처럼 애플리케이션이 쉬고 있을 때 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataGenerator {
+
+    private static final String[] CITIES = {"서울", "부산", "대구", "인천", "광주", "대전", "울산", "수원"};
+    private static final int MEMBER_ALLOCATION_SIZE = 50; //Member @SequenceGenerator allocationSize
+
+    //테이블 별 난수 구분
+    private static final int MEMBER = 1;
+    private static final int CATEGORY = 2;
+    private static final int ITEM = 3;
+    private static final int ORDER = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public DataGenResult generate(DataGenProperties spec) {
+        validate(spec);
+        long start = System.currentTimeMillis();
+
+        Ids ids = reserveIds(spec);
+        int[] prices = new int[spec.getItems()]; //주문상품의 주문 가격 = 상품 가격
+        ZipfSampler itemSampler = new ZipfSampler(spec.getItems(), spec.getItemSkew());
+        LocalDate endDate = spec.getEndDate() != null ? spec.getEndDate() : LocalDate.now();
+        AtomicLong orderItems = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(spec.getThreads());
+        try {
+            //FK 순서: 카테고리 -> 회원, 상품 (+ category_item) -> 주문
+            inTransaction(() -> insertCategories(spec, ids));
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            addChunks(tasks, spec, MEMBER, spec.getMembers(), (random, from, to) -> insertMembers(spec, ids, from, to));
+            addChunks(tasks, spec, ITEM, spec.getItems(), (random, from, to) -> insertItems(random, spec, ids, prices, from, to));
+            invokeAll(executor, tasks);
+            log.info("datagen: members={}, items={}, categories={}", spec.getMembers(), spec.getItems(), spec.getCategories());
+
+            tasks.clear();
+            addChunks(tasks, spec, ORDER, spec.getOrders(), (random, from, to) ->
+                    orderItems.addAndGet(insertOrders(random, spec, ids, prices, itemSampler, endDate, from, to)));
+            invokeAll(executor, tasks);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        DataGenResult result = new DataGenResult(ids.member, ids.category, ids.item, ids.order,
+                spec.getMembers(), spec.getCategories(), spec.getItems(), spec.getOrders(), orderItems.get(),
+                System.currentTimeMillis() - start);
+        log.info("datagen: {}", result);
+
+        return result;
+    }
+
+    private void validate(DataGenProperties spec) {
+        if (spec.getMembers() < 1 || spec.getItems() < 1 || spec.getCategories() < 1 || spec.getOrders() < 0) {
+            throw new IllegalArgumentException("회원, 상품, 카테고리는 1개 이상이어야 합니다.");
+        }
+        if (spec.getMaxItemsPerOrder() < 1 || spec.getDays() < 1 || spec.getThreads() < 1 || spec.getChunkSize() < 1) {
+            throw new IllegalArgumentException("max-items-per-order, days, threads, chunk-size 는 1 이상이어야 합니다.");
+        }
+    }
+
+    /**
+     * 시퀀스를 생성할 범위 뒤로 옮겨서 id 를 미리 예약
+     * member_seq 는 pooled (allocationSize 50) -> 다음 값에서 allocationSize 를 뺀 구간까지 애플리케이션이 사용한다.
+     */
+    private Ids reserveIds(DataGenProperties spec) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            long member = jdbcTemplate.queryForObject("select next value for member_seq", Long.class);
+            jdbcTemplate.execute("alter sequence member_seq restart with " + (member + spec.getMembers() + MEMBER_ALLOCATION_SIZE));
+
+            Ids ids = new Ids(member, jdbcTemplate.queryForObject("select next value for hibernate_sequence", Long.class), spec);
+            jdbcTemplate.execute("alter sequence hibernate_sequence restart with " + (ids.end + 1));
+
+            return ids;
+        });
+    }
+
+    private void insertCategories(DataGenProperties spec, Ids ids) {
+        int roots = Math.max(1, (int) Math.sqrt(spec.getCategories())); //루트 카테고리 -> 나머지는 루트의 자식
+
+        batch("insert into category (category_id, name, parent_id) values (?, ?, ?)", spec.getCategories(), (ps, i) -> {
+            ps.setLong(1, ids.category + i + 1);
+            ps.setString(2, "category-" + i);
+            if (i < roots) {
+                ps.setNull(3, Types.BIGINT);
+            } else {
+                ps.setLong(3, ids.category + i % roots + 1);
+            }
+        });
+    }
+
+    private void insertMembers(DataGenProperties spec, Ids ids, int from, int to) {
+        batch("insert into member (member_id, name, city, street, zipcode) values (?, ?, ?, ?, ?)", to - from, (ps, i) -> {
+            int index = from + i;
+            long id = ids.member + index + 1;
+            long address = mix(spec.getSeed(), MEMBER, index);
+
+            ps.setLong(1, id);
+            ps.setString(2, "member-" + id); //uk_member_name
+            ps.setString(3, city(address));
+            ps.setString(4, street(address));
+            ps.setString(5, zipcode(address));
+        });
+    }
+
+    private void insertItems(SplittableRandom random, DataGenProperties spec, Ids ids, int[] prices, int from, int to) {
+        int size = to - from;
+        int[] stocks = new int[size];
+        for (int i = 0; i < size; i++) {
+            prices[from + i] = random.nextInt(10, 1000) * 100;
+            stocks[i] = random.nextInt(10, 10_000);
+        }
+
+        batch("insert into item (dtype, item_id, name, price, stock_quantity, author, isbn, artist, etc, director, actor) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", size, (ps, i) -> {
+            int index = from + i;
+            for (int column = 6; column <= 11; column++) {
+                ps.setNull(column, Types.VARCHAR);
+            }
+
+            ps.setLong(2, ids.item + index + 1);
+            ps.setInt(4, prices[index]);
+            ps.setInt(5, stocks[i]);
+
+            switch (index % 3) {
+                case 0 -> {
+                    ps.setString(1, "B");
+                    ps.setString(3, String.format("Book-%07d", index));
+                    ps.setString(6, "author-" + index % 1000);
+                    ps.setString(7, String.format("978%010d", index));
+                }
+                case 1 -> {
+                    ps.setString(1, "A");
+                    ps.setString(3, String.format("Album-%07d", index));
+                    ps.setString(8, "artist-" + index % 1000);
+                }
+                default -> {
+                    ps.setString(1, "M");
+                    ps.setString(3, String.format("Movie-%07d", index));
+                    ps.setString(10, "director-" + index % 500);
+                    ps.setString(11, "actor-" + index % 2000);
+                }
+            }
+        });
+
+        batch("insert into category_item (category_id, item_id) values (?, ?)", size, (ps, i) -> {
+            int index = from + i;
+            ps.setLong(1, ids.category + Math.floorMod(mix(spec.getSeed(), CATEGORY, index), spec.getCategories()) + 1);
+            ps.setLong(2, ids.item + index + 1);
+        });
+    }
+
+    /**
+     * 주문 -> 회원은 균등, 상품은 Zipf (인기 상품 쏠림), 주문일은 최근일수록 많게
+     * @return 생성한 주문상품 수
+     */
+    private int insertOrders(SplittableRandom random, DataGenProperties spec, Ids ids, int[] prices, ZipfSampler itemSampler,
+                             LocalDate endDate, int from, int to) {
+        int size = to - from;
+        int[] members = new int[size];
+        Timestamp[] orderDates = new Timestamp[size];
+        boolean[] cancelled = new boolean[size];
+        boolean[] completed = new boolean[size];
+
+        int capacity = size * spec.getMaxItemsPerOrder();
+        long[] orderItemIds = new long[capacity];
+        int[] orderItemOrders = new int[capacity];
+        int[] orderItemItems = new int[capacity];
+        int[] orderItemCounts = new int[capacity];
+        int orderItemSize = 0;
+
+        for (int i = 0; i < size; i++) {
+            int index = from + i;
+            members[i] = random.nextInt(spec.getMembers());
+
+            int daysAgo = Math.min((int) (spec.getDays() * Math.pow(random.nextDouble(), spec.getRecentSkew())), spec.getDays() - 1);
+            orderDates[i] = Timestamp.valueOf(endDate.minusDays(daysAgo).atStartOfDay().plusSeconds(random.nextInt(86_400)));
+            cancelled[i] = random.nextDouble() < spec.getCancelRatio();
+            completed[i] = !cancelled[i] && daysAgo > 3; //배송 완료된 주문은 취소 불가
+
+            int count = random.nextInt(1, spec.getMaxItemsPerOrder() + 1);
+            for (int k = 0; k < count; k++) {
+                orderItemIds[orderItemSize] = ids.orderItem + (long) index * spec.getMaxItemsPerOrder() + k + 1;
+                orderItemOrders[orderItemSize] = i;
+                orderItemItems[orderItemSize] = itemSampler.sample(random);
+                orderItemCounts[orderItemSize] = random.nextInt(1, 4);
+                orderItemSize++;
+            }
+        }
+
+        batch("insert into delivery (delivery_id, city, street, zipcode, status) values (?, ?, ?, ?, ?)", size, (ps, i) -> {
+            long address = mix(spec.getSeed(), MEMBER, members[i]); //회원 주소 그대로
+
+            ps.setLong(1, ids.delivery + from + i + 1);
+            ps.setString(2, city(address));
+            ps.setString(3, street(address));
+            ps.setString(4, zipcode(address));
+            ps.setString(5, (completed[i] ? DeliveryStatus.COMP : DeliveryStatus.READY).name());
+        });
+
+        batch("insert into orders (order_id, member_id, delivery_id, order_date, status) values (?, ?, ?, ?, ?)", size, (ps, i) -> {
+            ps.setLong(1, ids.order + from + i + 1);
+            ps.setLong(2, ids.member + members[i] + 1);
+            ps.setLong(3, ids.delivery + from + i + 1);
+            ps.setTimestamp(4, orderDates[i]);
+            ps.setString(5, (cancelled[i] ? OrderStatus.CANCEL : OrderStatus.ORDER).name());
+        });
+
+        batch("insert into order_item (order_item_id, order_id, item_id, order_price, count) values (?, ?, ?, ?, ?)", orderItemSize, (ps, i) -> {
+            ps.setLong(1, orderItemIds[i]);
+            ps.setLong(2, ids.order + from + orderItemOrders[i] + 1);
+            ps.setLong(3, ids.item + orderItemItems[i] + 1);
+            ps.setInt(4, prices[orderItemItems[i]]);
+            ps.setInt(5, orderItemCounts[i]);
+        });
+
+        return orderItemSize;
+    }
+
+    private void addChunks(List<Callable<Void>> tasks, DataGenProperties spec, int table, int total, ChunkWriter writer) {
+        for (int from = 0, chunk = 0; from < total; from += spec.getChunkSize(), chunk++) {
+            int start = from;
+            int end = Math.min(total, from + spec.getChunkSize());
+            SplittableRandom random = new SplittableRandom(mix(spec.getSeed(), table, chunk));
+
+            tasks.add(() -> {
+                inTransaction(() -> writer.write(random, start, end));
+                return null;
+            });
+        }
+    }
+
+    private void invokeAll(ExecutorService executor, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("데이터 생성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void inTransaction(Runnable runnable) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> runnable.run());
+    }
+
+    private void batch(String sql, int size, RowSetter setter) {
+        if (size == 0) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setter.set(ps, i);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return size;
+            }
+        });
+    }
+
+    private static String city(long address) {
+        return CITIES[(int) Math.floorMod(address, (long) CITIES.length)];
+    }
+
+    private static String street(long address) {
+        return String.valueOf(Math.floorMod(address >>> 8, 1000L) + 1);
+    }
+
+    private static String zipcode(long address) {
+        return String.format("%05d", Math.floorMod(address >>> 24, 100_000L));
+    }
+
+    //(seed, 테이블, 번호) -> 64bit 난수 (SplitMix64 finalizer)
+    private static long mix(long seed, int table, long index) {
+        long z = seed * 0x9E3779B97F4A7C15L + table * 0xBF58476D1CE4E5B9L + index * 0x94D049BB133111EBL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(SplittableRandom random, int from, int to);
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    /**
+     * 예약한 id 범위 -> hibernate_sequence 하나를 카테고리, 상품, 주문, 배송, 주문상품이 나눠 쓴다.
+     * 주문상품 id 는 주문 번호 * max-items-per-order + k (빈 번호 허용) -> chunk 끼리 id 를 주고받을 필요가 없다.
+     */
+    private static class Ids {
+
+        final long member;
+        final long category;
+        final long item;
+        final long order;
+        final long delivery;
+        final long orderItem;
+        final long end;
+
+        Ids(long member, long sequence, DataGenProperties spec) {
+            this.member = member;
+            this.category = sequence;
+            this.item = category + spec.getCategories();
+            this.order = item + spec.getItems();
+            this.delivery = order + spec.getOrders();
+            this.orderItem = delivery + spec.getOrders();
+            this.end = orderItem + (long) spec.getOrders() * spec.getMaxItemsPerOrder();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 0 ~ n-1 을 Zipf 분포로 추출 (rank k 의 가중치 1 / (k+1)^s)
+ * 누적 가중치를 미리 계산해두고 이진 탐색 -> 추출 O(log n), 스레드 간 공유 가능 (읽기 전용)
+ */
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n 은 1 이상이어야 합니다.");
+        }
+
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        double u = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, u);
+
+        return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,7 @@
+package jpabook.jpashop.datasource;
+
+public enum DataSourceType {
+
+    PRIMARY, //쓰기 (readOnly = false)
+    REPLICA //읽기 전용 트랜잭션 (readOnly = true)
+}
@@ -0,0 +1,17 @@
+package jpabook.jpashop.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션이면 replica, 나머지는 primary 로 라우팅
+ * 트랜잭션의 readOnly 속성은 커넥션을 얻은 다음에야 동기화 매니저에 등록되므로
+ * 반드시 LazyConnectionDataSourceProxy 로 감싸서 실제 SQL 실행 시점에 커넥션을 얻도록 해야 한다.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? DataSourceType.REPLICA : DataSourceType.PRIMARY;
+    }
+}
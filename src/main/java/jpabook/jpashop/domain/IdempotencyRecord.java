@@ -0,0 +1,35 @@
+package jpabook.jpashop.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 멱등키 -> 처리 결과 (주문 id, 회원 id)
+ * PK(unique) 로 같은 키의 동시 요청 중 하나만 커밋된다. (다른 서버 인스턴스 포함)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String key; //scope:clientKey
+
+    private Long resultId;
+
+    private LocalDateTime createdAt;
+
+    public IdempotencyRecord(String key) {
+        this.key = key;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public void complete(Long resultId) {
+        this.resultId = resultId;
+    }
+}
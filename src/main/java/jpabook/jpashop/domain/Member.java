@@ -11,9 +11,12 @@ import java.util.List;
 
 @Entity
 @Getter @Setter
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_member_name", columnNames = "name")) //회원 이름 중복 -> DB 에서도 방지
 public class Member {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50) //대량 가입 -> 시퀀스 조회를 50건에 한 번
     @Column(name = "member_id")
     private Long id;
 
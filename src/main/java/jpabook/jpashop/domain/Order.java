@@ -1,9 +1,12 @@
 package jpabook.jpashop.domain;
 
+import jpabook.jpashop.domain.event.DomainEventSource;
+import jpabook.jpashop.domain.event.OrderStatusChangedEvent;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.Hibernate;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -12,10 +15,21 @@ import java.util.Arrays;
 import java.util.List;
 
 @Entity
-@Table(name = "orders") //관례상 orders 로 설정
+@Table(name = "orders", indexes = @Index(name = "idx_orders_order_date", columnList = "order_date")) //관례상 orders 로 설정, 주문일 범위 조회
+@NamedEntityGraphs({ //fetch plan -> 리포지토리 호출마다 선택 (OSIV 없이 필요한 연관관계만 미리 로딩)
+        @NamedEntityGraph(name = "Order.withMemberDelivery", attributeNodes = {
+                @NamedAttributeNode("member"),
+                @NamedAttributeNode("delivery")
+        }),
+        @NamedEntityGraph(name = "Order.withItems", attributeNodes = {
+                @NamedAttributeNode("member"),
+                @NamedAttributeNode("delivery"),
+                @NamedAttributeNode(value = "orderItems", subgraph = "orderItems")
+        }, subgraphs = @NamedSubgraph(name = "orderItems", attributeNodes = @NamedAttributeNode("item")))
+})
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class Order {
+public class Order extends DomainEventSource {
 
     /**
      * <JPA 연관관계 매핑>
@@ -75,7 +89,12 @@ public class Order {
      */
     public void setMember(Member member) {
         this.member = member;
-        member.getOrders().add(this);
+
+        //회원이 아직 로딩되지 않은 프록시면 반대편 추가는 생략 (컬렉션을 쓰려고 회원을 select 하지 않는다.)
+        //바이트코드 향상 (association management) 이 필드 대입 때 이미 추가했으면 중복 추가 x
+        if (Hibernate.isInitialized(member) && !member.getOrders().contains(this)) {
+            member.getOrders().add(this);
+        }
     }
 
     public void addOrderItem(OrderItem orderItem) {
@@ -131,6 +150,8 @@ public class Order {
         for (OrderItem orderItem : orderItems) {
             orderItem.cancel();
         }
+
+        registerEvent(new OrderStatusChangedEvent(id, OrderStatus.CANCEL));
     }
 
     /**
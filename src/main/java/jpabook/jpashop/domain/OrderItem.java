@@ -1,6 +1,8 @@
 package jpabook.jpashop.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import jpabook.jpashop.domain.event.DomainEventSource;
+import jpabook.jpashop.domain.event.ItemSalesChangedEvent;
 import jpabook.jpashop.domain.item.Item;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -8,6 +10,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.persistence.*;
+import java.time.LocalDate;
 import java.util.Objects;
 
 /**
@@ -17,7 +20,7 @@ import java.util.Objects;
 @Entity
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class OrderItem {
+public class OrderItem extends DomainEventSource {
 
     @Id @GeneratedValue
     @Column(name = "order_item_id")
@@ -51,6 +54,7 @@ public class OrderItem {
         orderItem.setCount(count);
 
         item.removeStockQuantity(count); //해당 상품 재고수량 감소
+        orderItem.registerEvent(new ItemSalesChangedEvent(item.getId(), LocalDate.now(), count));
 
         return orderItem;
     }
@@ -60,6 +64,7 @@ public class OrderItem {
      */
     public void cancel() {
         item.addStockQuantity(count); //해당 상품의 재고수량을 원복해준다.
+        registerEvent(new ItemSalesChangedEvent(item.getId(), order.getOrderDate().toLocalDate(), -count));
     }
 
     /**
@@ -0,0 +1,41 @@
+package jpabook.jpashop.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭셔널 아웃박스 -> 주문과 같은 트랜잭션에서 저장, OutboxRelay 가 외부로 전달한 뒤 삭제한다.
+ * 주문이 롤백되면 이벤트도 같이 롤백되므로 커밋된 주문의 이벤트만 전달된다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+    @Id @GeneratedValue
+    @Column(name = "outbox_event_id")
+    private Long id; //전달 순서, 수신 측 중복 제거 키
+
+    private String aggregateType; //Order
+
+    private Long aggregateId;
+
+    private String eventType; //ORDER_CREATED, ORDER_CANCELLED
+
+    @Column(length = 4000)
+    private String payload; //JSON
+
+    private LocalDateTime createdAt;
+
+    public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,43 @@
+package jpabook.jpashop.domain.event;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.HibernateException;
+import org.hibernate.event.spi.FlushEntityEvent;
+import org.hibernate.event.spi.FlushEntityEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * flush (명시적 flush, 쿼리 전 auto flush, 커밋) 때 영속 엔티티마다 호출된다.
+ * 엔티티에 쌓인 도메인 이벤트를 이 세션 팩토리를 만든 컨텍스트의 publisher 로 발행한다.
+ * 트랜잭션 안에서 발행하므로 @TransactionalEventListener 는 커밋 이후에 실행된다.
+ *
+ * 신규 엔티티의 @PostPersist 는 FLUSH_ENTITY 이후 insert 실행 단계에서 호출된다. -> POST_INSERT 에서 한 번 더 꺼낸다.
+ */
+@RequiredArgsConstructor
+class DomainEventListener implements FlushEntityEventListener, PostInsertEventListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public void onFlushEntity(FlushEntityEvent event) throws HibernateException {
+        if (event.getEntity() instanceof DomainEventSource source) {
+            source.pullDomainEvents().forEach(publisher::publishEvent);
+        }
+    }
+
+    //JPA 콜백 (@PostPersist) 리스너 다음에 등록된다.
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof DomainEventSource source) {
+            source.pullDomainEvents().forEach(publisher::publishEvent);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package jpabook.jpashop.domain.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 엔티티(비즈니스 메소드)에서 발생한 도메인 이벤트를 모아두는 곳
+ * 엔티티는 빈이 아니므로 직접 발행하지 않고 기록만 한다. -> flush 시점에 해당 세션 팩토리의 DomainEventListener 가 꺼내서 발행
+ * 스프링 컨텍스트가 여러 개여도 (테스트) 이벤트는 엔티티를 flush 한 컨텍스트로만 전달된다.
+ */
+public abstract class DomainEventSource {
+
+    private transient List<Object> domainEvents;
+
+    protected void registerEvent(Object event) {
+        if (domainEvents == null) {
+            domainEvents = new ArrayList<>();
+        }
+        domainEvents.add(event);
+    }
+
+    //꺼낸 이벤트는 비운다. -> flush 가 여러 번 일어나도 한 번만 발행
+    List<Object> pullDomainEvents() {
+        if (domainEvents == null || domainEvents.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> events = domainEvents;
+        domainEvents = null;
+        return events;
+    }
+}
@@ -0,0 +1,38 @@
+package jpabook.jpashop.domain.event;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 도메인 이벤트 발행 리스너를 세션 팩토리에 등록 (정적 publisher x -> 컨텍스트마다 자기 세션 팩토리에만 등록된다)
+ */
+@Configuration
+public class EventsConfig {
+
+    @Bean
+    public Integrator domainEventIntegrator(ApplicationEventPublisher publisher) {
+        return new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+                DomainEventListener listener = new DomainEventListener(publisher);
+                EventListenerRegistry listeners = serviceRegistry.getService(EventListenerRegistry.class);
+
+                //비즈니스 메소드에서 생긴 이벤트 -> 기본 flush 리스너 다음
+                listeners.appendListeners(EventType.FLUSH_ENTITY, listener);
+                //신규 엔티티의 @PostPersist 이벤트 -> insert 실행 후 (JPA 콜백 리스너 다음)
+                listeners.appendListeners(EventType.POST_INSERT, listener);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+    }
+}
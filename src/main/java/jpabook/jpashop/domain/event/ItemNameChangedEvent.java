@@ -0,0 +1,7 @@
+package jpabook.jpashop.domain.event;
+
+/**
+ * 상품 등록, 상품명 변경 -> 변경 후 상품명
+ */
+public record ItemNameChangedEvent(Long itemId, String name) {
+}
@@ -0,0 +1,10 @@
+package jpabook.jpashop.domain.event;
+
+import java.time.LocalDate;
+
+/**
+ * 상품 판매 수량 변경 (주문 -> +count, 주문 취소 -> -count)
+ * day -> 주문일 (취소는 원래 주문일의 판매 수량에서 뺀다)
+ */
+public record ItemSalesChangedEvent(Long itemId, LocalDate day, int delta) {
+}
@@ -0,0 +1,7 @@
+package jpabook.jpashop.domain.event;
+
+/**
+ * 상품 재고 변경 -> 변경 후 재고 수량
+ */
+public record ItemStockChangedEvent(Long itemId, int stockQuantity) {
+}
@@ -0,0 +1,9 @@
+package jpabook.jpashop.domain.event;
+
+import jpabook.jpashop.domain.OrderStatus;
+
+/**
+ * 주문 상태 변경 (현재는 주문 취소 -> CANCEL)
+ */
+public record OrderStatusChangedEvent(Long orderId, OrderStatus status) {
+}
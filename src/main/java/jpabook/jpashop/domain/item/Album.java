@@ -1,10 +1,13 @@
 package jpabook.jpashop.domain.item;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 
+import javax.persistence.Basic;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 
 @Entity
 @Getter @Setter
@@ -12,5 +15,10 @@ import javax.persistence.Entity;
 public class Album extends Item {
 
     private String artist;
+
+    //거의 쓰지 않는 컬럼 -> 바이트코드 향상 시 처음 접근할 때 따로 조회
+    //엔티티를 그대로 직렬화하면 (OSIV off) 트랜잭션 밖에서 로딩을 시도하므로 JSON 에서 제외
+    @JsonIgnore
+    @Basic(fetch = FetchType.LAZY)
     private String etc;
 }
@@ -1,19 +1,26 @@
 package jpabook.jpashop.domain.item;
 
 import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.event.DomainEventSource;
+import jpabook.jpashop.domain.event.ItemNameChangedEvent;
+import jpabook.jpashop.domain.event.ItemStockChangedEvent;
 import jpabook.jpashop.exception.NotEnoughStockException;
+import jpabook.jpashop.jfr.StockConflictEvent;
 import lombok.Getter;
 import lombok.Setter;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
 @Getter @Setter
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE) //싱글테이블 전략
 @DiscriminatorColumn(name = "dtype")
-public abstract class Item {
+@Table(indexes = @Index(name = "idx_item_name", columnList = "name")) //상품명 앞부분 검색
+@NamedEntityGraph(name = "Item.withCategories", attributeNodes = @NamedAttributeNode("categories"))
+public abstract class Item extends DomainEventSource {
 
     @Id @GeneratedValue
     @Column(name = "item_id")
@@ -39,6 +46,7 @@ public abstract class Item {
     //stock 증가
     public void addStockQuantity(int quantity) {
         this.stockQuantity += quantity;
+        stockChanged();
     }
 
     //stock 감소
@@ -47,8 +55,40 @@ public abstract class Item {
 
         if (restStock >= 0) {
             this.stockQuantity = restStock;
+            stockChanged();
         } else {
+            StockConflictEvent.emit(id, quantity, stockQuantity);
             throw new NotEnoughStockException("need more stock");
         }
     }
+
+    //상품 수정 화면 (변경 감지)
+    public void setStockQuantity(int stockQuantity) {
+        this.stockQuantity = stockQuantity;
+        stockChanged();
+    }
+
+    public void setName(String name) {
+        boolean changed = !Objects.equals(this.name, name);
+        this.name = name;
+
+        if (changed && id != null) {
+            registerEvent(new ItemNameChangedEvent(id, name));
+        }
+    }
+
+    //신규 상품은 persist 후에 id 가 생긴다.
+    @PostPersist
+    private void persisted() {
+        stockChanged();
+        if (name != null) {
+            registerEvent(new ItemNameChangedEvent(id, name));
+        }
+    }
+
+    private void stockChanged() {
+        if (id != null) {
+            registerEvent(new ItemStockChangedEvent(id, stockQuantity));
+        }
+    }
 }
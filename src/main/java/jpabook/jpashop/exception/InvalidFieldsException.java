@@ -0,0 +1,23 @@
+package jpabook.jpashop.exception;
+
+/**
+ * 조회 API 의 fields= 파라미터에 알 수 없는 필드가 있음 -> 400 (OrderApiController)
+ */
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException() {
+        super();
+    }
+
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+
+    public InvalidFieldsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidFieldsException(Throwable cause) {
+        super(cause);
+    }
+}
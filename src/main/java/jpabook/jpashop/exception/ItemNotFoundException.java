@@ -0,0 +1,27 @@
+package jpabook.jpashop.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 상품이 존재하지 않음 -> 404
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ItemNotFoundException extends RuntimeException {
+
+    public ItemNotFoundException() {
+        super();
+    }
+
+    public ItemNotFoundException(String message) {
+        super(message);
+    }
+
+    public ItemNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ItemNotFoundException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,27 @@
+package jpabook.jpashop.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 회원이 존재하지 않음 -> 404
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class MemberNotFoundException extends RuntimeException {
+
+    public MemberNotFoundException() {
+        super();
+    }
+
+    public MemberNotFoundException(String message) {
+        super(message);
+    }
+
+    public MemberNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public MemberNotFoundException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,133 @@
+package jpabook.jpashop.idempotency;
+
+import jpabook.jpashop.domain.IdempotencyRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 멱등키 처리 (클라이언트 재시도 -> 같은 결과 반환, 주문, 회원가입을 다시 실행하지 않는다)
+ *
+ * 1. 최근 결과 캐시 (LRU) -> DB 조회 없이 반환
+ * 2. 같은 키로 처리 중인 요청 -> 트랜잭션을 열지 않고 먼저 온 요청의 결과를 기다린다.
+ * 3. 키 insert + 작업 + 결과 저장을 한 트랜잭션으로 -> 다른 인스턴스와의 경쟁은 PK 충돌로 정리, 이미 커밋된 결과를 읽어서 반환
+ * 작업이 예외로 끝나면 키도 같이 롤백되므로 재시도하면 다시 실행된다.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Long> completed;
+    private final Map<String, CompletableFuture<Long>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${jpashop.idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    public IdempotencyService(EntityManager em, PlatformTransactionManager transactionManager,
+                              @Value("${jpashop.idempotency.cache-size:10000}") int cacheSize) {
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * clientKey 가 없으면 그냥 실행
+     */
+    public Long execute(String scope, String clientKey, Supplier<Long> action) {
+        if (!StringUtils.hasText(clientKey)) {
+            return action.get();
+        }
+
+        String key = scope + ":" + clientKey;
+        Long cached = completed.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<Long> mine = new CompletableFuture<>();
+        CompletableFuture<Long> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            Long resultId = executeOnce(key, action);
+            completed.put(key, resultId);
+            mine.complete(resultId);
+            return resultId;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Long executeOnce(String key, Supplier<Long> action) {
+        try {
+            return transactionTemplate.execute(status -> {
+                IdempotencyRecord existing = em.find(IdempotencyRecord.class, key);
+                if (existing != null) {
+                    return existing.getResultId(); //재시작 이후, 다른 인스턴스에서 처리된 키
+                }
+
+                IdempotencyRecord record = new IdempotencyRecord(key);
+                em.persist(record);
+                em.flush(); //작업 전에 키를 선점 -> 다른 인스턴스의 같은 키 insert 는 여기서 대기 / 충돌
+
+                Long resultId = action.get(); //@Transactional 서비스 메소드는 이 트랜잭션에 참여
+                record.complete(resultId);
+                return resultId;
+            });
+        } catch (RuntimeException e) {
+            //PK 충돌 (flush, commit 시점) 또는 작업 실패 -> 먼저 커밋된 결과가 있으면 그 결과, 없으면 예외 그대로
+            Long resultId = transactionTemplate.execute(status -> {
+                IdempotencyRecord winner = em.find(IdempotencyRecord.class, key);
+                return winner == null ? null : winner.getResultId();
+            });
+
+            if (resultId == null) {
+                throw e;
+            }
+
+            log.debug("idempotency key {} already processed by another request", key);
+            return resultId;
+        }
+    }
+
+    private Long await(CompletableFuture<Long> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Scheduled(cron = "${jpashop.idempotency.cleanup-cron:0 30 * * * *}")
+    public void deleteExpired() {
+        transactionTemplate.executeWithoutResult(status -> em.createQuery("delete from IdempotencyRecord r where r.createdAt < :expired")
+                .setParameter("expired", LocalDateTime.now().minusHours(retentionHours))
+                .executeUpdate());
+    }
+}
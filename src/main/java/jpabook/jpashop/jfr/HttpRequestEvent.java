@@ -0,0 +1,27 @@
+package jpabook.jpashop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("jpashop.HttpRequest")
+@Label("HTTP Request")
+@Category({"jpashop", "Web"})
+@Description("Spring MVC request handling, from handler lookup to completion")
+@StackTrace(false)
+public class HttpRequestEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+
+    @Label("SQL Statements")
+    long statements;
+
+    @Label("JDBC Rows")
+    long rows;
+}
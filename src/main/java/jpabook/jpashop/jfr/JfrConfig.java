@@ -0,0 +1,18 @@
+package jpabook.jpashop.jfr;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * jpashop JFR 이벤트 (jpashop.*) -> 기록: java -XX:StartFlightRecording=filename=jpashop.jfr,settings=profile -jar ...
+ * 요약: ./gradlew jfrSummary -Pjfr=jpashop.jfr (JfrSummary)
+ */
+@Configuration
+public class JfrConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new JfrEndpointInterceptor());
+    }
+}
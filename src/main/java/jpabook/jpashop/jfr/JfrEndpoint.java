@@ -0,0 +1,26 @@
+package jpabook.jpashop.jfr;
+
+/**
+ * 현재 스레드가 처리 중인 엔드포인트 ("GET /api/v5/orders") -> 모든 jpashop JFR 이벤트에 함께 기록해서 요청별로 묶는다.
+ * 요청 밖 (스케줄러, 파이프라인 writer 스레드) 에서는 빈 문자열
+ */
+public final class JfrEndpoint {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private JfrEndpoint() {
+    }
+
+    public static String current() {
+        String endpoint = CURRENT.get();
+        return endpoint != null ? endpoint : "";
+    }
+
+    static void set(String endpoint) {
+        CURRENT.set(endpoint);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,52 @@
+package jpabook.jpashop.jfr;
+
+import jpabook.jpashop.metrics.JdbcActivity;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 요청의 엔드포인트 (메소드 + URL 패턴) 를 JfrEndpoint 에 두고, 요청이 끝나면 HttpRequestEvent 를 남긴다.
+ * 패턴을 사용하므로 /items/1/edit, /items/2/edit 는 같은 엔드포인트로 묶인다.
+ */
+public class JfrEndpointInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT = JfrEndpointInterceptor.class.getName() + ".event";
+    private static final String START = JfrEndpointInterceptor.class.getName() + ".start";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        JfrEndpoint.set(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+
+        HttpRequestEvent event = new HttpRequestEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(EVENT, event);
+            request.setAttribute(START, JdbcActivity.current().snapshot());
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        try {
+            if (request.getAttribute(EVENT) instanceof HttpRequestEvent event) {
+                event.end();
+                if (event.shouldCommit()) {
+                    JdbcActivity.Snapshot used = JdbcActivity.current().snapshot().since((JdbcActivity.Snapshot) request.getAttribute(START));
+                    event.endpoint = JfrEndpoint.current();
+                    event.status = response.getStatus();
+                    event.statements = used.statements();
+                    event.rows = used.rows();
+                    event.commit();
+                }
+            }
+        } finally {
+            JfrEndpoint.clear();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package jpabook.jpashop.jfr;
+
+import jpabook.jpashop.metrics.JdbcActivity;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 리포지토리 메소드 호출 -> QueryExecutedEvent (조회 전략 = 리포지토리.메소드, 결과 row 수, 실행한 SQL 수)
+ * JFR 기록 중이 아니면 isEnabled 검사 후 바로 proceed 한다.
+ */
+@Aspect
+@Component
+public class JfrQueryAspect {
+
+    @Around("within(jpabook.jpashop.repository..*) && @within(org.springframework.stereotype.Repository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        QueryExecutedEvent event = new QueryExecutedEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        JdbcActivity.Snapshot start = JdbcActivity.current().snapshot();
+        event.begin();
+        Object result = joinPoint.proceed();
+        event.end();
+
+        if (event.shouldCommit()) {
+            JdbcActivity.Snapshot used = JdbcActivity.current().snapshot().since(start);
+            event.endpoint = JfrEndpoint.current();
+            event.strategy = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+            event.resultRows = rows(result);
+            event.statements = used.statements();
+            event.jdbcRows = used.rows();
+            event.commit();
+        }
+
+        return result;
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+
+        return result != null ? 1 : 0;
+    }
+}
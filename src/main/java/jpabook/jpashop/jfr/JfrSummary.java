@@ -0,0 +1,143 @@
+package jpabook.jpashop.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JFR 기록 요약 -> 엔드포인트별 요청 수, 지연 시간, 조회 전략별 호출 / SQL 수, 주문, 재고 충돌
+ * ./gradlew jfrSummary -Pjfr=jpashop.jfr
+ */
+public class JfrSummary {
+
+    private static final String NO_ENDPOINT = "(요청 밖)";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("사용법: JfrSummary <recording.jfr>");
+        }
+
+        System.out.print(summarize(Path.of(args[0])));
+    }
+
+    public static String summarize(Path recording) throws IOException {
+        Map<String, EndpointSummary> endpoints = new TreeMap<>();
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String type = event.getEventType().getName();
+            if (!type.startsWith("jpashop.")) {
+                continue;
+            }
+
+            String endpoint = event.getString("endpoint");
+            EndpointSummary summary = endpoints.computeIfAbsent(endpoint == null || endpoint.isEmpty() ? NO_ENDPOINT : endpoint,
+                    EndpointSummary::new);
+
+            switch (type) {
+                case "jpashop.HttpRequest" -> summary.requests.add(event.getDuration());
+                case "jpashop.QueryExecuted" -> summary.strategies
+                        .computeIfAbsent(event.getString("strategy"), Stats::new)
+                        .add(event.getDuration(), event.getLong("statements"), event.getInt("resultRows"));
+                case "jpashop.SqlExecuted" -> summary.sql.add(Duration.ofNanos(event.getLong("executionTime")), 1, 0);
+                case "jpashop.OrderPlaced" -> summary.ordersPlaced.add(event.getDuration());
+                case "jpashop.OrderCancelled" -> summary.ordersCancelled.add(event.getDuration());
+                case "jpashop.StockConflict" -> summary.stockConflicts++;
+                default -> {
+                }
+            }
+        }
+
+        StringBuilder out = new StringBuilder();
+        endpoints.values().stream()
+                .sorted(Comparator.comparing((EndpointSummary s) -> s.requests.total).reversed())
+                .forEach(s -> s.appendTo(out));
+
+        return out.toString();
+    }
+
+    private static class EndpointSummary {
+
+        final String endpoint;
+        final Stats requests = new Stats("requests");
+        final Stats sql = new Stats("sql");
+        final Stats ordersPlaced = new Stats("order placed");
+        final Stats ordersCancelled = new Stats("order cancelled");
+        final Map<String, Stats> strategies = new TreeMap<>();
+        int stockConflicts;
+
+        EndpointSummary(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void appendTo(StringBuilder out) {
+            out.append(endpoint).append('\n');
+            requests.appendTo(out);
+            sql.appendTo(out);
+            ordersPlaced.appendTo(out);
+            ordersCancelled.appendTo(out);
+            if (stockConflicts > 0) {
+                out.append(String.format("  %-50s %8d%n", "stock conflicts", stockConflicts));
+            }
+
+            strategies.values().stream()
+                    .sorted(Comparator.comparing((Stats s) -> s.total).reversed())
+                    .forEach(s -> s.appendTo(out));
+            out.append('\n');
+        }
+    }
+
+    /**
+     * 호출 수, 합계, 평균, p99 (ms) + SQL 수, 결과 row 수 합계
+     */
+    private static class Stats {
+
+        final String name;
+        final List<Duration> durations = new ArrayList<>();
+        Duration total = Duration.ZERO;
+        long statements;
+        long rows;
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        void add(Duration duration) {
+            add(duration, 0, 0);
+        }
+
+        void add(Duration duration, long statements, long rows) {
+            durations.add(duration);
+            total = total.plus(duration);
+            this.statements += statements;
+            this.rows += rows;
+        }
+
+        void appendTo(StringBuilder out) {
+            if (durations.isEmpty()) {
+                return;
+            }
+
+            durations.sort(null);
+            Duration p99 = durations.get(Math.min(durations.size() - 1, (int) Math.ceil(durations.size() * 0.99) - 1));
+
+            out.append(String.format("  %-50s %8d  total=%10.2fms avg=%8.3fms p99=%8.3fms", name, durations.size(),
+                    millis(total), millis(total) / durations.size(), millis(p99)));
+            if (statements > 0 || rows > 0) {
+                out.append(String.format("  sql=%d rows=%d", statements, rows));
+            }
+            out.append('\n');
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1_000_000.0;
+        }
+    }
+}
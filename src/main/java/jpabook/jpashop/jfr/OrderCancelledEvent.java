@@ -0,0 +1,34 @@
+package jpabook.jpashop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("jpashop.OrderCancelled")
+@Label("Order Cancelled")
+@Category({"jpashop", "Order"})
+@StackTrace(false)
+public class OrderCancelledEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Order Id")
+    long orderId;
+
+    public static OrderCancelledEvent start() {
+        OrderCancelledEvent event = new OrderCancelledEvent();
+        event.begin();
+        return event;
+    }
+
+    public void cancelled(Long orderId) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = JfrEndpoint.current();
+            this.orderId = orderId;
+            commit();
+        }
+    }
+}
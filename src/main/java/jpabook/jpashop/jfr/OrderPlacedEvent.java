@@ -0,0 +1,52 @@
+package jpabook.jpashop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 주문 생성 (OrderService.order, orderAll 의 주문 1건)
+ * 꺼져 있으면 start / placed 는 isEnabled 검사만 하고, 이벤트 객체는 escape analysis 로 할당되지 않는다.
+ */
+@Name("jpashop.OrderPlaced")
+@Label("Order Placed")
+@Category({"jpashop", "Order"})
+@Description("Order lookup and placement inside OrderService (commit excluded)")
+@StackTrace(false)
+public class OrderPlacedEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Order Id")
+    long orderId;
+
+    @Label("Member Id")
+    long memberId;
+
+    @Label("Item Id")
+    long itemId;
+
+    @Label("Count")
+    int count;
+
+    public static OrderPlacedEvent start() {
+        OrderPlacedEvent event = new OrderPlacedEvent();
+        event.begin();
+        return event;
+    }
+
+    public void placed(Long orderId, Long memberId, Long itemId, int count) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = JfrEndpoint.current();
+            this.orderId = orderId;
+            this.memberId = memberId;
+            this.itemId = itemId;
+            this.count = count;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package jpabook.jpashop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("jpashop.QueryExecuted")
+@Label("Query Executed")
+@Category({"jpashop", "Repository"})
+@Description("Repository method call with the SQL it executed")
+@StackTrace(false)
+public class QueryExecutedEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Strategy")
+    @Description("Repository.method, e.g. OrderQueryRepository.findAllByDto_optimization")
+    String strategy;
+
+    @Label("Result Rows")
+    @Description("Returned collection size (1 or 0 for a single result)")
+    int resultRows;
+
+    @Label("SQL Statements")
+    long statements;
+
+    @Label("JDBC Rows")
+    long jdbcRows;
+}
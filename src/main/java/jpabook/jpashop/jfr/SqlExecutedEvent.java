@@ -0,0 +1,38 @@
+package jpabook.jpashop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("jpashop.SqlExecuted")
+@Label("SQL Executed")
+@Category({"jpashop", "JDBC"})
+@StackTrace(false)
+public class SqlExecutedEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Execution Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long executionTime;
+
+    @Label("Success")
+    boolean success;
+
+    public static void emit(String sql, long executionNanos, boolean success) {
+        SqlExecutedEvent event = new SqlExecutedEvent();
+        if (event.shouldCommit()) {
+            event.endpoint = JfrEndpoint.current();
+            event.sql = sql;
+            event.executionTime = executionNanos;
+            event.success = success;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package jpabook.jpashop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 재고 부족으로 주문 실패 (Item.removeStockQuantity) -> 어떤 상품에 주문이 몰리는지 (스택 트레이스 포함)
+ */
+@Name("jpashop.StockConflict")
+@Label("Stock Conflict")
+@Category({"jpashop", "Order"})
+@Description("Requested quantity exceeded the item stock")
+public class StockConflictEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Item Id")
+    long itemId;
+
+    @Label("Requested")
+    int requested;
+
+    @Label("Available")
+    int available;
+
+    public static void emit(Long itemId, int requested, int available) {
+        StockConflictEvent event = new StockConflictEvent();
+        if (event.shouldCommit()) {
+            event.endpoint = JfrEndpoint.current();
+            event.itemId = itemId != null ? itemId : 0;
+            event.requested = requested;
+            event.available = available;
+            event.commit();
+        }
+    }
+}
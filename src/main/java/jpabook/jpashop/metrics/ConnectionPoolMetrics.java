@@ -0,0 +1,49 @@
+package jpabook.jpashop.metrics;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 커넥션 풀 포화도 (active / maximumPoolSize)
+ * 풀 자체 지표 (hikaricp.connections.active, pending, acquire, usage) 는 스프링 부트가 자동으로 등록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolMetrics implements MeterBinder {
+
+    private final Map<String, DataSource> dataSources;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        dataSources.forEach((beanName, dataSource) -> {
+            HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+
+            if (hikari != null) {
+                Gauge.builder("jpashop.pool.saturation", hikari, ConnectionPoolMetrics::saturation)
+                        .description("active connections / maximum pool size")
+                        .tag("pool", hikari.getPoolName() != null ? hikari.getPoolName() : beanName)
+                        .register(registry);
+            }
+        });
+    }
+
+    private static double saturation(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean(); //풀이 아직 시작되지 않았으면 null
+
+        if (pool == null) {
+            return Double.NaN;
+        }
+
+        return (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+    }
+}
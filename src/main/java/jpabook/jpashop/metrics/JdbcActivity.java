@@ -0,0 +1,47 @@
+package jpabook.jpashop.metrics;
+
+/**
+ * 스레드별 JDBC 사용량 누적 카운터 (p6spy 리스너가 증가, 트랜잭션 측정 시 시작/종료 차이를 기록)
+ * 누적값만 다루기 때문에 서비스 메소드가 중첩 호출되어도 각각의 구간을 측정할 수 있다.
+ */
+public final class JdbcActivity {
+
+    private static final ThreadLocal<JdbcActivity> CURRENT = ThreadLocal.withInitial(JdbcActivity::new);
+
+    private long connectionWaitNanos; //커넥션 획득 대기 시간
+    private long connections; //커넥션 획득 횟수
+    private long statements; //실행된 SQL 수
+    private long rows; //ResultSet 에서 읽은 row 수
+
+    private JdbcActivity() {
+    }
+
+    public static JdbcActivity current() {
+        return CURRENT.get();
+    }
+
+    void connectionAcquired(long waitNanos) {
+        connectionWaitNanos += waitNanos;
+        connections++;
+    }
+
+    void statementExecuted() {
+        statements++;
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(connectionWaitNanos, connections, statements, rows);
+    }
+
+    public record Snapshot(long connectionWaitNanos, long connections, long statements, long rows) {
+
+        public Snapshot since(Snapshot start) {
+            return new Snapshot(connectionWaitNanos - start.connectionWaitNanos, connections - start.connections,
+                    statements - start.statements, rows - start.rows);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package jpabook.jpashop.metrics;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import jpabook.jpashop.jfr.SqlExecutedEvent;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 로 감싼 DataSource 의 JDBC 이벤트를 현재 스레드의 JdbcActivity 에 누적한다.
+ * (p6spy-spring-boot-starter 가 JdbcEventListener 빈을 자동으로 등록)
+ */
+@Component
+public class JdbcActivityListener extends JdbcEventListener {
+
+    @Override
+    public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+        if (e == null) {
+            JdbcActivity.current().connectionAcquired(connectionInformation.getTimeToGetConnectionNs());
+        }
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        JdbcActivity.current().statementExecuted();
+        SqlExecutedEvent.emit(statementInformation.getSql(), timeElapsedNanos, e == null); //JFR 기록 중일 때만
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos, boolean hasNext, SQLException e) {
+        if (hasNext) {
+            JdbcActivity.current().rowFetched();
+        }
+    }
+}
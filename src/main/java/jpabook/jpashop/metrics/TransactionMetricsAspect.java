@@ -0,0 +1,103 @@
+package jpabook.jpashop.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서비스 메소드별 트랜잭션 지표
+ * 트랜잭션 인터셉터보다 바깥에서 실행되어야 커넥션 획득 ~ 커밋까지 (= 커넥션 점유 시간) 전체를 측정할 수 있다. -> HIGHEST_PRECEDENCE
+ *
+ * jpashop.transaction : 트랜잭션 시간 (service, method, readOnly, outcome)
+ * jpashop.transaction.connection.acquire : 트랜잭션 안에서 커넥션 획득 대기 시간
+ * jpashop.transaction.rows : 트랜잭션 안에서 읽은 row 수
+ * jpashop.transaction.statements : 트랜잭션 안에서 실행한 SQL 수
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TransactionMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(jpabook.jpashop.service..*) && " +
+            "(@within(org.springframework.transaction.annotation.Transactional) || " +
+            "@annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        //이미 시작된 트랜잭션에 참여하는 경우 -> 바깥 메소드에서 측정
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Tags tags = Tags.of(
+                "service", joinPoint.getTarget().getClass().getSimpleName(),
+                "method", method.getName(),
+                "readOnly", String.valueOf(isReadOnly(method, joinPoint.getTarget().getClass())));
+
+        JdbcActivity.Snapshot start = JdbcActivity.current().snapshot();
+        long startNanos = System.nanoTime();
+        String outcome = "success";
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            JdbcActivity.Snapshot used = JdbcActivity.current().snapshot().since(start);
+
+            Timer.builder("jpashop.transaction")
+                    .description("service transaction duration (connection held)")
+                    .tags(tags.and("outcome", outcome))
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+            Timer.builder("jpashop.transaction.connection.acquire")
+                    .description("connection acquire wait inside a service transaction")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(used.connectionWaitNanos(), TimeUnit.NANOSECONDS);
+
+            DistributionSummary.builder("jpashop.transaction.rows")
+                    .description("rows fetched inside a service transaction")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(used.rows());
+
+            DistributionSummary.builder("jpashop.transaction.statements")
+                    .description("statements executed inside a service transaction")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(used.statements());
+        }
+    }
+
+    private boolean isReadOnly(Method method, Class<?> targetClass) {
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(method, Transactional.class);
+
+        if (transactional == null) {
+            transactional = AnnotatedElementUtils.findMergedAnnotation(targetClass, Transactional.class);
+        }
+
+        return transactional != null && transactional.readOnly();
+    }
+}
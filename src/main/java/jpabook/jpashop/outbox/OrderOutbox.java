@@ -0,0 +1,49 @@
+package jpabook.jpashop.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 주문 이벤트를 아웃박스에 저장 -> 반드시 주문을 저장, 변경하는 트랜잭션 안에서 호출
+ * 주문 쓰기 경로에는 insert 1건만 추가된다. (전달은 OutboxRelay 가 비동기로)
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public void orderCreated(Order order) {
+        outboxRepository.save(new OutboxEvent("Order", order.getId(), "ORDER_CREATED", payload(order)));
+    }
+
+    public void orderCancelled(Order order) {
+        outboxRepository.save(new OutboxEvent("Order", order.getId(), "ORDER_CANCELLED", payload(order)));
+    }
+
+    private String payload(Order order) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", order.getId());
+        payload.put("memberId", order.getMember().getId());
+        payload.put("status", order.getStatus());
+        payload.put("orderDate", order.getOrderDate());
+        payload.put("totalPrice", order.getTotalPrice());
+        payload.put("orderItems", order.getOrderItems().stream()
+                .map(oi -> Map.of("itemId", oi.getItem().getId(), "orderPrice", oi.getOrderPrice(), "count", oi.getCount()))
+                .toList());
+
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 이벤트를 만들 수 없습니다. orderId=" + order.getId(), e);
+        }
+    }
+}
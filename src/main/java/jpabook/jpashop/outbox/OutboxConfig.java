@@ -0,0 +1,26 @@
+package jpabook.jpashop.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    //다른 OutboxSink 빈(메시지 브로커 등)을 등록하면 그 빈을 사용한다.
+    @Bean
+    @ConditionalOnProperty(prefix = "jpashop.outbox", name = "sink")
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.getSink()) {
+            case "file" -> new FileOutboxSink(Path.of(properties.getFilePath()), objectMapper);
+            default -> throw new IllegalStateException("지원하지 않는 jpashop.outbox.sink : " + properties.getSink());
+        };
+    }
+}
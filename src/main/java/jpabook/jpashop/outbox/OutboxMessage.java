@@ -0,0 +1,17 @@
+package jpabook.jpashop.outbox;
+
+import jpabook.jpashop.domain.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * sink 로 전달되는 이벤트 (엔티티 대신 값만 전달)
+ */
+public record OutboxMessage(Long id, String aggregateType, Long aggregateId, String eventType, String payload,
+                            LocalDateTime createdAt) {
+
+    static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(), event.getEventType(),
+                event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package jpabook.jpashop.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties("jpashop.outbox")
+public class OutboxProperties {
+
+    private boolean relayEnabled = true;
+    private String sink; //file (또는 OutboxSink 빈 등록), 없으면 relay 를 시작하지 않는다.
+    private String filePath = "outbox/order-events.jsonl";
+    private int batchSize = 100; //트랜잭션 하나에서 전달, 삭제하는 이벤트 수
+    private long pollMs = 1000;
+}
@@ -0,0 +1,77 @@
+package jpabook.jpashop.outbox;
+
+import jpabook.jpashop.domain.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트 전달
+ * batchSize 만큼 잠그고 (skip locked) -> sink 로 전달 -> 벌크 삭제, 한 배치가 하나의 트랜잭션
+ * 전달 후 삭제 전에 실패하면 다음 폴링에서 다시 전달된다. (최소 한 번)
+ * sink 가 없으면 시작하지 않는다. -> 이벤트는 outbox_event 에 남아 있다가 sink 를 설정한 뒤 전달된다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink outboxSink; //null -> relay x
+    private final OutboxProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    public OutboxRelay(OutboxRepository outboxRepository, ObjectProvider<OutboxSink> outboxSink, OutboxProperties properties,
+                       PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.outboxSink = outboxSink.getIfAvailable();
+        this.properties = properties;
+        this.transactionManager = transactionManager;
+
+        if (this.outboxSink == null && properties.isRelayEnabled()) {
+            log.warn("outbox sink 가 설정되지 않아 relay 를 시작하지 않습니다. (jpashop.outbox.sink)");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jpashop.outbox.poll-ms:1000}")
+    public void poll() {
+        if (properties.isRelayEnabled() && outboxSink != null) {
+            relay();
+        }
+    }
+
+    //쌓인 이벤트가 없을 때까지 반복, 전달한 이벤트 수 반환
+    public int relay() {
+        if (outboxSink == null) {
+            throw new IllegalStateException("outbox sink 가 설정되지 않았습니다. (jpashop.outbox.sink)");
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int relayed = 0;
+        int batch;
+
+        do {
+            batch = transaction.execute(status -> {
+                List<OutboxEvent> events = outboxRepository.findBatchForUpdate(properties.getBatchSize());
+                if (events.isEmpty()) {
+                    return 0;
+                }
+
+                try {
+                    outboxSink.send(events.stream().map(OutboxMessage::of).toList());
+                } catch (Exception e) {
+                    throw new IllegalStateException("outbox 이벤트 전달 실패", e);
+                }
+
+                return outboxRepository.deleteByIds(events.stream().map(OutboxEvent::getId).toList());
+            });
+            relayed += batch;
+        } while (batch == properties.getBatchSize());
+
+        return relayed;
+    }
+}
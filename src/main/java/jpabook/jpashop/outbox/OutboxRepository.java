@@ -0,0 +1,45 @@
+package jpabook.jpashop.outbox;
+
+import jpabook.jpashop.domain.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.LockOptions;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final EntityManager em;
+
+    public void save(OutboxEvent event) {
+        em.persist(event);
+    }
+
+    /**
+     * select ... for update skip locked
+     * 다른 relay 인스턴스가 잠근 row 는 기다리지 않고 건너뛴다. (SKIP LOCKED 를 지원하지 않는 DB 는 for update)
+     */
+    public List<OutboxEvent> findBatchForUpdate(int limit) {
+        return em.createQuery("select e from OutboxEvent e order by e.id", OutboxEvent.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("javax.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    //벌크 삭제 (영속성 컨텍스트 무시 -> relay 트랜잭션은 삭제 후 바로 끝난다)
+    public int deleteByIds(List<Long> ids) {
+        return em.createQuery("delete from OutboxEvent e where e.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    public long count() {
+        return em.createQuery("select count(e) from OutboxEvent e", Long.class)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,12 @@
+package jpabook.jpashop.outbox;
+
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트 전달 대상 (메시지 브로커, 파일, 메모리 ...)
+ * 예외 없이 반환하면 전달 완료로 보고 아웃박스에서 삭제한다. -> 최소 한 번 전달 (수신 측은 id 로 중복 제거)
+ */
+public interface OutboxSink {
+
+    void send(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,169 @@
+package jpabook.jpashop.pipeline;
+
+import jpabook.jpashop.exception.OrderQueueFullException;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderCommand;
+import jpabook.jpashop.service.OrderResult;
+import jpabook.jpashop.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 주문 수집 (jpashop.order-pipeline.enabled=true)
+ *
+ * 요청 스레드 : 검증 -> 크기 제한 큐에 넣고 티켓 즉시 반환 (큐가 가득 차면 OrderQueueFullException)
+ * writer 스레드 : 큐에 쌓인 주문을 maxBatchSize 까지 꺼내서 트랜잭션 하나로 커밋 (그룹 커밋)
+ * 그룹 커밋이 실패하면 해당 그룹만 한 건씩 다시 주문해서 다른 주문까지 실패하지 않도록 한다.
+ */
+@Slf4j
+public class OrderPipeline implements DisposableBean {
+
+    private record Pending(OrderCommand command, OrderTicket ticket) {
+    }
+
+    private final OrderService orderService;
+    private final MemberService memberService;
+    private final ItemService itemService;
+    private final OrderPipelineProperties properties;
+
+    private final BlockingQueue<Pending> queue;
+    private final Map<String, OrderTicket> tickets = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+    private volatile boolean running = true;
+
+    public OrderPipeline(OrderService orderService, MemberService memberService, ItemService itemService,
+                         OrderPipelineProperties properties) {
+        this.orderService = orderService;
+        this.memberService = memberService;
+        this.itemService = itemService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(properties.getWriters(),
+                r -> new Thread(r, "order-writer-" + sequence.getAndIncrement()));
+
+        for (int i = 0; i < properties.getWriters(); i++) {
+            writers.execute(this::drain);
+        }
+    }
+
+    public OrderTicket submit(Long memberId, Long itemId, int count) {
+        if (!running) {
+            throw new OrderQueueFullException("주문 접수가 중지되었습니다.");
+        }
+        validate(memberId, itemId, count);
+
+        OrderTicket ticket = new OrderTicket(UUID.randomUUID().toString());
+        tickets.put(ticket.getTicketId(), ticket);
+
+        if (!queue.offer(new Pending(new OrderCommand(memberId, itemId, count), ticket))) {
+            tickets.remove(ticket.getTicketId());
+            throw new OrderQueueFullException("주문이 많아 접수할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        return ticket;
+    }
+
+    public Optional<OrderTicket> findTicket(String ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    //재고는 커밋 시점에만 확정할 수 있으므로 여기서는 존재 여부, 수량만 확인한다.
+    private void validate(Long memberId, Long itemId, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("주문 수량은 1개 이상이어야 합니다.");
+        }
+
+        if (memberId == null || itemId == null || memberService.findOne(memberId) == null || itemService.findOne(itemId) == null) {
+            throw new IllegalArgumentException("회원 또는 상품이 존재하지 않습니다.");
+        }
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(properties.getMaxBatchSize());
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, properties.getMaxBatchSize() - 1); //대기 중인 주문을 한번에 가져간다. (부하가 클수록 그룹이 커진다)
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("order pipeline writer error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        try {
+            List<OrderResult> results = orderService.orderAll(batch.stream().map(Pending::command).toList());
+
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i).ticket(), results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("group commit failed ({} orders), retrying one by one", batch.size(), e);
+            batch.forEach(this::commitOne);
+        }
+    }
+
+    private void commitOne(Pending pending) {
+        try {
+            OrderCommand command = pending.command();
+            pending.ticket().complete(orderService.order(command.memberId(), command.itemId(), command.count()));
+        } catch (RuntimeException e) {
+            pending.ticket().fail(e.getMessage());
+        }
+    }
+
+    private void complete(OrderTicket ticket, OrderResult result) {
+        if (result.isSuccess()) {
+            ticket.complete(result.orderId());
+        } else {
+            ticket.fail(result.error().getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictTickets() {
+        LocalDateTime expired = LocalDateTime.now().minusSeconds(properties.getTicketRetentionSeconds());
+        tickets.values().removeIf(t -> t.getCompletedAt() != null && t.getCompletedAt().isBefore(expired));
+    }
+
+    //종료 시 접수를 막고 큐에 남은 주문은 모두 커밋한 뒤 종료
+    @Override
+    public void destroy() throws Exception {
+        running = false;
+        writers.shutdown();
+
+        if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("order pipeline stopped with {} orders in queue", queue.size());
+            writers.shutdownNow();
+        }
+    }
+}
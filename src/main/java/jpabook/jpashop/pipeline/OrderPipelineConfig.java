@@ -0,0 +1,21 @@
+package jpabook.jpashop.pipeline;
+
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "jpashop.order-pipeline.enabled", havingValue = "true")
+@EnableConfigurationProperties(OrderPipelineProperties.class)
+public class OrderPipelineConfig {
+
+    @Bean
+    public OrderPipeline orderPipeline(OrderService orderService, MemberService memberService, ItemService itemService,
+                                       OrderPipelineProperties properties) {
+        return new OrderPipeline(orderService, memberService, itemService, properties);
+    }
+}
@@ -0,0 +1,16 @@
+package jpabook.jpashop.pipeline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties("jpashop.order-pipeline")
+public class OrderPipelineProperties {
+
+    private boolean enabled;
+    private int queueCapacity = 10_000; //가득 차면 OrderQueueFullException (503)
+    private int writers = 2; //writer 스레드 = 동시에 열리는 쓰기 트랜잭션 수
+    private int maxBatchSize = 200; //트랜잭션 하나에 커밋하는 최대 주문 수
+    private long ticketRetentionSeconds = 600; //완료된 티켓 보관 시간
+}
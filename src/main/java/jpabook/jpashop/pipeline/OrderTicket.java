@@ -0,0 +1,39 @@
+package jpabook.jpashop.pipeline;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 주문 접수증 -> 접수 즉시 반환, writer 스레드가 커밋 후 결과를 채운다.
+ */
+@Getter
+public class OrderTicket {
+
+    public enum Status {
+        PENDING, COMPLETED, FAILED
+    }
+
+    private final String ticketId;
+    private final LocalDateTime acceptedAt = LocalDateTime.now();
+    private volatile Status status = Status.PENDING;
+    private volatile Long orderId;
+    private volatile String error;
+    private volatile LocalDateTime completedAt;
+
+    OrderTicket(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    void complete(Long orderId) {
+        this.orderId = orderId;
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+}
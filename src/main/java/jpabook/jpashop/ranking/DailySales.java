@@ -0,0 +1,51 @@
+package jpabook.jpashop.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 하루치 상품별 판매 수량
+ * ranking -> (units desc, itemId asc) 정렬된 skip list, 앞에서부터 K 개만 읽으면 된다.
+ * 수량 변경은 (삭제 -> 추가) 이므로 synchronized, 조회는 락 없이 skip list 를 순회한다.
+ */
+class DailySales {
+
+    private static final Comparator<ItemSales> ORDER = Comparator.comparingLong(ItemSales::units).reversed()
+            .thenComparingLong(ItemSales::itemId);
+
+    private final Map<Long, Long> unitsByItem = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<ItemSales> ranking = new ConcurrentSkipListSet<>(ORDER);
+
+    synchronized void add(long itemId, long delta) {
+        Long before = unitsByItem.get(itemId);
+        long after = (before == null ? 0 : before) + delta;
+
+        if (before != null) {
+            ranking.remove(new ItemSales(itemId, before));
+        }
+
+        if (after > 0) {
+            unitsByItem.put(itemId, after);
+            ranking.add(new ItemSales(itemId, after));
+        } else {
+            unitsByItem.remove(itemId);
+        }
+    }
+
+    List<ItemSales> top(int k) {
+        List<ItemSales> result = new ArrayList<>();
+
+        for (ItemSales entry : ranking) {
+            if (result.size() == k) {
+                break;
+            }
+            result.add(entry);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.ranking;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ItemRankingRepository {
+
+    private final EntityManager em;
+
+    //row : {itemId, orderDate, count} -> 일자별 합계는 애플리케이션에서 (기간이 짧아서 row 수가 적다)
+    public List<Object[]> findSalesSince(LocalDateTime since) {
+        return em.createQuery(
+                "select oi.item.id, o.orderDate, oi.count from OrderItem oi " +
+                        "join oi.order o " +
+                        "where o.orderDate >= :since and o.status = :status", Object[].class)
+                .setParameter("since", since)
+                .setParameter("status", OrderStatus.ORDER)
+                .getResultList();
+    }
+
+    //row : {itemId, stockQuantity}
+    public List<Object[]> findStocks() {
+        return em.createQuery("select i.id, i.stockQuantity from Item i", Object[].class)
+                .getResultList();
+    }
+}
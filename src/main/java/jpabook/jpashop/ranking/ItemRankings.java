@@ -0,0 +1,91 @@
+package jpabook.jpashop.ranking;
+
+import jpabook.jpashop.domain.event.ItemSalesChangedEvent;
+import jpabook.jpashop.domain.event.ItemStockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 일자별 판매량 순위, 재고 부족 상품 (인메모리)
+ *
+ * 주문, 취소, 재고 변경 이벤트를 커밋 이후에만 반영한다. (롤백된 주문은 순위에 들어가지 않는다)
+ * 시작 시 최근 jpashop.ranking.days 일의 주문과 전체 재고로 다시 만든다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemRankings {
+
+    private final ItemRankingRepository itemRankingRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jpashop.ranking.days:7}")
+    private int days;
+
+    private volatile Map<LocalDate, DailySales> salesByDay = new ConcurrentHashMap<>();
+    private volatile StockLevels stockLevels = new StockLevels();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1) //InitDb 시드 다음, ApplicationWarmup 전
+    public void rebuild() {
+        Map<LocalDate, DailySales> sales = new ConcurrentHashMap<>();
+        StockLevels stocks = new StockLevels();
+        LocalDate since = LocalDate.now().minusDays(days - 1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Object[] row : itemRankingRepository.findSalesSince(since.atStartOfDay())) {
+                LocalDate day = ((LocalDateTime) row[1]).toLocalDate();
+                sales.computeIfAbsent(day, d -> new DailySales()).add((Long) row[0], (Integer) row[2]);
+            }
+
+            for (Object[] row : itemRankingRepository.findStocks()) {
+                stocks.update((Long) row[0], (Integer) row[1]);
+            }
+        });
+
+        salesByDay = sales;
+        stockLevels = stocks;
+        log.info("item rankings rebuilt : {} days", sales.size());
+    }
+
+    @TransactionalEventListener
+    public void onSalesChanged(ItemSalesChangedEvent event) {
+        if (event.day().isBefore(LocalDate.now().minusDays(days - 1))) {
+            return; //보관 기간이 지난 날짜의 취소
+        }
+
+        salesByDay.computeIfAbsent(event.day(), d -> new DailySales()).add(event.itemId(), event.delta());
+        salesByDay.keySet().removeIf(day -> day.isBefore(LocalDate.now().minusDays(days - 1)));
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(ItemStockChangedEvent event) {
+        stockLevels.update(event.itemId(), event.stockQuantity());
+    }
+
+    //O(K)
+    public List<ItemSales> bestSellers(LocalDate day, int top) {
+        DailySales sales = salesByDay.get(day);
+        return sales == null ? List.of() : sales.top(top);
+    }
+
+    //O(결과 수)
+    public List<ItemStock> lowStock(int threshold, int limit) {
+        return stockLevels.below(threshold, limit);
+    }
+}
@@ -0,0 +1,4 @@
+package jpabook.jpashop.ranking;
+
+public record ItemSales(long itemId, long units) {
+}
@@ -0,0 +1,4 @@
+package jpabook.jpashop.ranking;
+
+public record ItemStock(long itemId, int stockQuantity) {
+}
@@ -0,0 +1,43 @@
+package jpabook.jpashop.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 상품별 재고 수량 -> (stock asc, itemId asc) 정렬
+ * 기준 미만 상품은 앞에서부터 기준에 도달할 때까지만 읽는다. (기준값을 조회 시점에 정할 수 있다)
+ */
+class StockLevels {
+
+    private static final Comparator<ItemStock> ORDER = Comparator.comparingInt(ItemStock::stockQuantity)
+            .thenComparingLong(ItemStock::itemId);
+
+    private final Map<Long, Integer> stockByItem = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<ItemStock> levels = new ConcurrentSkipListSet<>(ORDER);
+
+    synchronized void update(long itemId, int stockQuantity) {
+        Integer before = stockByItem.put(itemId, stockQuantity);
+
+        if (before != null) {
+            levels.remove(new ItemStock(itemId, before));
+        }
+        levels.add(new ItemStock(itemId, stockQuantity));
+    }
+
+    List<ItemStock> below(int threshold, int limit) {
+        List<ItemStock> result = new ArrayList<>();
+
+        for (ItemStock entry : levels) {
+            if (entry.stockQuantity() >= threshold || result.size() == limit) {
+                break;
+            }
+            result.add(entry);
+        }
+
+        return result;
+    }
+}
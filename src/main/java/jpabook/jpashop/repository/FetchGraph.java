@@ -0,0 +1,43 @@
+package jpabook.jpashop.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.Map;
+
+/**
+ * 엔티티에 선언된 @NamedEntityGraph (fetch plan)
+ * 리포지토리 호출마다 필요한 연관관계를 선택해서 한번에 조회한다. -> OSIV 를 끄고도 지연 로딩 예외가 발생하지 않는다.
+ */
+public enum FetchGraph {
+
+    ORDER_MEMBER_DELIVERY("Order.withMemberDelivery", false), //order -> member, delivery
+    ORDER_ITEMS("Order.withItems", true), //order -> member, delivery, orderItems -> item
+    ITEM_CATEGORIES("Item.withCategories", true); //item -> categories
+
+    //fetchgraph : 그래프에 없는 속성은 LAZY 로 취급
+    private static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
+
+    private final String graphName;
+    private final boolean collection; //컬렉션 포함 -> 페이징 x (메모리에서 페이징)
+
+    FetchGraph(String graphName, boolean collection) {
+        this.graphName = graphName;
+        this.collection = collection;
+    }
+
+    public String getGraphName() {
+        return graphName;
+    }
+
+    public boolean hasCollection() {
+        return collection;
+    }
+
+    public <T> TypedQuery<T> applyTo(TypedQuery<T> query, EntityManager em) {
+        return query.setHint(FETCH_GRAPH_HINT, em.getEntityGraph(graphName));
+    }
+
+    public Map<String, Object> hints(EntityManager em) {
+        return Map.of(FETCH_GRAPH_HINT, em.getEntityGraph(graphName));
+    }
+}
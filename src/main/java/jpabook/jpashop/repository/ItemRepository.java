@@ -5,7 +5,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
@@ -26,8 +29,56 @@ public class ItemRepository {
         return em.find(Item.class, id);
     }
 
+    public Item findOne(Long id, FetchGraph fetchGraph) {
+        return em.find(Item.class, id, fetchGraph.hints(em));
+    }
+
     public List<Item> findAll() {
         return em.createQuery("select i from Item i", Item.class)
                     .getResultList();
     }
+
+    public List<Item> findAll(FetchGraph fetchGraph) {
+        return fetchGraph.applyTo(em.createQuery("select i from Item i", Item.class), em)
+                    .getResultList().stream()
+                    .distinct()
+                    .toList();
+    }
+
+    //keyset 페이징
+    public List<Item> findPage(Long lastId, int size) {
+        return em.createQuery("select i from Item i where i.id > :lastId order by i.id", Item.class)
+                    .setParameter("lastId", lastId == null ? 0L : lastId)
+                    .setMaxResults(size)
+                    .getResultList();
+    }
+
+    public long count() {
+        return em.createQuery("select count(i) from Item i", Long.class)
+                    .getSingleResult();
+    }
+
+    //주문 화면 상품 검색 (이름 앞부분 -> idx_item_name 인덱스)
+    public List<Item> findByNamePrefix(String prefix, int limit) {
+        return em.createQuery("select i from Item i where i.name like :prefix escape '" + LikePattern.ESCAPE + "' order by i.name", Item.class)
+                    .setParameter("prefix", LikePattern.startsWith(prefix))
+                    .setMaxResults(limit)
+                    .getResultList();
+    }
+
+    //id -> 이름 (엔티티 대신 필요한 컬럼만 조회)
+    public Map<Long, String> findNamesByIds(Collection<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+
+        if (ids.isEmpty()) {
+            return names;
+        }
+
+        em.createQuery("select i.id, i.name from Item i where i.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(row -> names.put((Long) row[0], (String) row[1]));
+
+        return names;
+    }
 }
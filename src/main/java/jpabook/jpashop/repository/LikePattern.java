@@ -0,0 +1,19 @@
+package jpabook.jpashop.repository;
+
+/**
+ * like 검색 패턴 -> 입력값의 %, _ 는 문자 그대로 검색 (escape '!')
+ */
+public class LikePattern {
+
+    public static final String ESCAPE = "!";
+
+    private LikePattern() {
+    }
+
+    //'prefix%' -> 인덱스 범위 검색 가능
+    public static String startsWith(String prefix) {
+        return prefix.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_") + "%";
+    }
+}
@@ -6,7 +6,13 @@ import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -28,9 +34,87 @@ public class MemberRepository {
                     .getResultList();
     }
 
+    //insert 를 바로 실행 -> name unique 제약 위반을 호출한 곳에서 확인
+    public void saveAndFlush(Member member) {
+        em.persist(member);
+        em.flush();
+    }
+
+    //변경 감지 update 를 바로 실행 -> name unique 제약 위반을 호출한 곳에서 확인
+    public void flush() {
+        em.flush();
+    }
+
+    //엔티티를 읽지 않고 한 건만 확인 (limit 1)
+    public boolean existsByName(String name) {
+        return !em.createQuery("select m.id from Member m where m.name = :name", Long.class)
+                    .setParameter("name", name)
+                    .setMaxResults(1)
+                    .getResultList()
+                    .isEmpty();
+    }
+
+    //대량 등록 -> chunk 의 이름 중 이미 있는 이름만 한 번에 조회
+    public Set<String> findExistingNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        return new HashSet<>(em.createQuery("select m.name from Member m where m.name in :names", String.class)
+                    .setParameter("names", names)
+                    .getResultList());
+    }
+
+    public void flushAndClear() {
+        em.flush();
+        em.clear();
+    }
+
+    public Stream<String> streamAllNames() {
+        return em.createQuery("select m.name from Member m", String.class)
+                    .getResultStream();
+    }
+
+    //keyset 페이징 -> offset 없이 마지막으로 본 id 다음부터 (뒤 페이지도 PK 인덱스로 바로 찾는다)
+    public List<Member> findPage(Long lastId, int size) {
+        return em.createQuery("select m from Member m where m.id > :lastId order by m.id", Member.class)
+                    .setParameter("lastId", lastId == null ? 0L : lastId)
+                    .setMaxResults(size)
+                    .getResultList();
+    }
+
+    public long count() {
+        return em.createQuery("select count(m) from Member m", Long.class)
+                    .getSingleResult();
+    }
+
+    //주문 화면 회원 검색 (이름 앞부분 -> uk_member_name 인덱스)
+    public List<Member> findByNamePrefix(String prefix, int limit) {
+        return em.createQuery("select m from Member m where m.name like :prefix escape '" + LikePattern.ESCAPE + "' order by m.name", Member.class)
+                    .setParameter("prefix", LikePattern.startsWith(prefix))
+                    .setMaxResults(limit)
+                    .getResultList();
+    }
+
     public List<Member> findByName(String name) {
         return em.createQuery("select m from Member m where m.name = :name", Member.class)
                     .setParameter("name", name)
                     .getResultList();
     }
+
+    //id -> 이름 (엔티티 대신 필요한 컬럼만 조회)
+    public Map<Long, String> findNamesByIds(Collection<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+
+        if (ids.isEmpty()) {
+            return names;
+        }
+
+        em.createQuery("select m.id, m.name from Member m where m.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(row -> names.put((Long) row[0], (String) row[1]));
+
+        return names;
+    }
 }
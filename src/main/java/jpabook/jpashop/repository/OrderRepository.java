@@ -1,7 +1,9 @@
 package jpabook.jpashop.repository;
 
+import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.item.Item;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
@@ -9,8 +11,14 @@ import org.springframework.util.StringUtils;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
@@ -26,12 +34,68 @@ public class OrderRepository {
         return em.find(Order.class, id);
     }
 
+    public Order findOne(Long id, FetchGraph fetchGraph) {
+        return em.find(Order.class, id, fetchGraph.hints(em));
+    }
+
+    /**
+     * 주문 생성용 조회 -> 회원 배송지 + 상품을 select 1번으로 (회원 엔티티는 로딩 x)
+     * 회원 또는 상품이 없으면 null
+     */
+    public OrderSource findOrderSource(Long memberId, Long itemId) {
+        List<Object[]> result = em.createQuery(
+                        "select m.address, i from Member m, Item i" +
+                                " where m.id = :memberId and i.id = :itemId", Object[].class)
+                .setParameter("memberId", memberId)
+                .setParameter("itemId", itemId)
+                .getResultList();
+
+        if (result.isEmpty()) {
+            return null;
+        }
+
+        Object[] row = result.get(0);
+        return new OrderSource((Address) row[0], (Item) row[1]);
+    }
+
+    /**
+     * 주문 그룹 생성용 조회 -> 회원 배송지 in 쿼리 1번 (회원 id -> 배송지, 없는 회원은 key 없음)
+     */
+    public Map<Long, Address> findAddresses(Collection<Long> memberIds) {
+        Map<Long, Address> addresses = new HashMap<>();
+        em.createQuery("select m.id, m.address from Member m where m.id in :memberIds", Object[].class)
+                .setParameter("memberIds", memberIds)
+                .getResultList()
+                .forEach(row -> addresses.put((Long) row[0], (Address) row[1])); //배송지가 없는 회원 -> null
+
+        return addresses;
+    }
+
+    //주문 그룹 생성용 조회 -> 상품 in 쿼리 1번 (재고 변경이 있으므로 엔티티로)
+    public Map<Long, Item> findItems(Collection<Long> itemIds) {
+        return em.createQuery("select i from Item i where i.id in :itemIds", Item.class)
+                .setParameter("itemIds", itemIds)
+                .getResultList().stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+
+    //회원 프록시 -> 주문의 member_id FK 만 채울 때는 select 가 필요 없다.
+    public Member getMemberReference(Long memberId) {
+        return em.getReference(Member.class, memberId);
+    }
+
     /**
      * 주문 검색 로직 -> 동적 쿼리 생성
      * JPQL 또는 JPA Criteria 방법은 실무에서 사용하기에 너무 복잡하다 -> "QueryDSL"
      */
     //== JPQL ==// 복잡하고 버그 발생이 많기 때문에 실무에선 거의 사용 x
     public List<Order> findAllByString(OrderSearch orderSearch) {
+        return findAllByString(orderSearch, null);
+    }
+
+    //fetch plan 지정 -> 트랜잭션(영속성 컨텍스트) 밖에서도 그래프에 포함된 연관관계 사용 가능 (XToOne 만)
+    //엔티티 조회 -> hot 테이블만 (보관 경계 이전의 종료된 주문은 OrderQueryRepository.findOrderList, v6 에서 조회)
+    public List<Order> findAllByString(OrderSearch orderSearch, FetchGraph fetchGraph) {
         String jpql = "select o from Order o join o.member m";
         boolean isFirstCondition = true;
 
@@ -63,6 +127,29 @@ public class OrderRepository {
 
 //        String example = "SELECT o FROM Order o JOIN o.member m WHERE m.name like :name";
 
+        //주문일 범위 검색 [from, to)
+        if (orderSearch.getFromDateTime() != null) {
+            if (isFirstCondition) {
+                jpql += " where";
+                isFirstCondition = false;
+            } else {
+                jpql += " and";
+            }
+
+            jpql += " o.orderDate >= :from";
+        }
+
+        if (orderSearch.getToDateTime() != null) {
+            if (isFirstCondition) {
+                jpql += " where";
+                isFirstCondition = false;
+            } else {
+                jpql += " and";
+            }
+
+            jpql += " o.orderDate < :to";
+        }
+
         TypedQuery<Order> query = em.createQuery(jpql, Order.class)
                                         .setMaxResults(1000); //최대 1000건
 
@@ -74,7 +161,24 @@ public class OrderRepository {
             query = query.setParameter("name", orderSearch.getMemberName());
         }
 
-        return query.getResultList();
+        if (orderSearch.getFromDateTime() != null) {
+            query = query.setParameter("from", orderSearch.getFromDateTime());
+        }
+
+        if (orderSearch.getToDateTime() != null) {
+            query = query.setParameter("to", orderSearch.getToDateTime());
+        }
+
+        if (fetchGraph == null) {
+            return query.getResultList();
+        }
+
+        //컬렉션 그래프 + 최대 1000건 -> 전체를 조회한 뒤 메모리에서 자른다. (HHH000104) -> OrderQueryService.findOrdersWithItems
+        if (fetchGraph.hasCollection()) {
+            throw new IllegalArgumentException("컬렉션이 포함된 fetch graph 는 페이징과 함께 사용할 수 없습니다: " + fetchGraph);
+        }
+
+        return fetchGraph.applyTo(query, em).getResultList();
     }
 
     //== JPA Criteria ==// 실무에 실용적이지 않음
@@ -99,6 +203,15 @@ public class OrderRepository {
             criteria.add(name);
         }
 
+        //주문일 범위 검색 [from, to)
+        if (orderSearch.getFromDateTime() != null) {
+            criteria.add(cb.greaterThanOrEqualTo(o.<LocalDateTime>get("orderDate"), orderSearch.getFromDateTime()));
+        }
+
+        if (orderSearch.getToDateTime() != null) {
+            criteria.add(cb.lessThan(o.<LocalDateTime>get("orderDate"), orderSearch.getToDateTime()));
+        }
+
         cq.where(cb.and(criteria.toArray(new Predicate[criteria.size()])));
         TypedQuery<Order> query = em.createQuery(cq).setMaxResults(1000); //최대 1000건
 
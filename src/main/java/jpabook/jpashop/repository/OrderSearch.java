@@ -3,6 +3,10 @@ package jpabook.jpashop.repository;
 import jpabook.jpashop.domain.OrderStatus;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
@@ -10,4 +14,20 @@ public class OrderSearch {
 
     private String memberName; //회원 이름
     private OrderStatus orderStatus; //ORDER, CANCEL
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate orderDateFrom; //주문일 시작 (포함)
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate orderDateTo; //주문일 끝 (포함)
+
+    //주문일 범위 [from, to) -> 시작일 0시 (없으면 null)
+    public LocalDateTime getFromDateTime() {
+        return orderDateFrom != null ? orderDateFrom.atStartOfDay() : null;
+    }
+
+    //끝 날짜 다음날 0시 (없으면 null)
+    public LocalDateTime getToDateTime() {
+        return orderDateTo != null ? orderDateTo.plusDays(1).atStartOfDay() : null;
+    }
 }
@@ -0,0 +1,10 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.item.Item;
+
+/**
+ * 주문 생성에 필요한 값만 조회 -> 회원은 배송지(address)만, 상품은 재고 변경이 있으므로 엔티티로
+ */
+public record OrderSource(Address address, Item item) {
+}
@@ -0,0 +1,101 @@
+package jpabook.jpashop.repository.order.query;
+
+import jpabook.jpashop.domain.event.ItemNameChangedEvent;
+import jpabook.jpashop.support.LongStringMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 상품 id -> 상품명 (인메모리)
+ * 주문 조회 쿼리가 상품명 하나 때문에 item 을 조인하지 않도록 order_item.item_id 로 이름을 찾는다.
+ *
+ * 읽기는 불변 맵 (LongStringMap) 을 락 없이, 변경은 복사본으로 교체 + version 증가
+ * 시작 시 전체를 읽고, 상품 등록 / 상품명 변경은 커밋 이후에 반영한다. (롤백된 이름은 들어가지 않는다)
+ * JDBC 대량 적재처럼 이벤트 없이 들어온 상품은 처음 조회될 때 한 번에 읽어서 채운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameDictionary {
+
+    private final EntityManager em;
+
+    private volatile LongStringMap names = LongStringMap.empty();
+    private volatile long version;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1) //InitDb 시드 다음, ApplicationWarmup 전
+    public void rebuild() {
+        List<Object[]> rows = em.createQuery("select i.id, i.name from Item i where i.name is not null", Object[].class)
+                .getResultList();
+
+        long[] ids = new long[rows.size()];
+        String[] itemNames = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = (Long) rows.get(i)[0];
+            itemNames[i] = (String) rows.get(i)[1];
+        }
+
+        replace(LongStringMap.of(ids, itemNames));
+        log.info("item name dictionary rebuilt : {} items", ids.length);
+    }
+
+    @TransactionalEventListener
+    public void onNameChanged(ItemNameChangedEvent event) {
+        synchronized (this) {
+            replace(names.with(event.itemId(), event.name()));
+        }
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * itemIds 의 이름 -> 사전에 없는 id 는 한 번의 쿼리로 읽어서 추가한다.
+     */
+    public LongStringMap resolve(long[] itemIds) {
+        LongStringMap current = names;
+        long[] missing = Arrays.stream(itemIds).filter(id -> !current.containsKey(id)).distinct().toArray();
+
+        if (missing.length == 0) {
+            return current;
+        }
+
+        List<Object[]> rows = em.createQuery("select i.id, i.name from Item i where i.id in :ids and i.name is not null", Object[].class)
+                .setParameter("ids", Arrays.stream(missing).boxed().toList())
+                .getResultList();
+
+        long[] ids = new long[rows.size()];
+        String[] itemNames = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = (Long) rows.get(i)[0];
+            itemNames[i] = (String) rows.get(i)[1];
+        }
+
+        synchronized (this) {
+            //읽는 사이 커밋된 이름 변경이 있으면 그쪽이 최신 -> 덮어쓰지 않는다.
+            return replace(names.withAll(ids, itemNames, false));
+        }
+    }
+
+    private synchronized LongStringMap replace(LongStringMap next) {
+        names = next;
+        version++;
+        return next;
+    }
+}
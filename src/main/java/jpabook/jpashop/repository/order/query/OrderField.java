@@ -0,0 +1,60 @@
+package jpabook.jpashop.repository.order.query;
+
+import jpabook.jpashop.exception.InvalidFieldsException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 조회 API 의 fields= 파라미터 (sparse fieldset)
+ * 요청한 필드만 select -> member, delivery 조인과 orderItem 쿼리는 필요할 때만 실행한다.
+ */
+public enum OrderField {
+
+    ORDER_ID("orderId"),
+    NAME("name"), //member 조인
+    ORDER_DATE("orderDate"),
+    ORDER_STATUS("orderStatus"),
+    ADDRESS("address"), //delivery 조인
+    ORDER_ITEMS("orderItems"), //orderItem in 쿼리
+    TOTAL_PRICE("totalPrice"); //orderItems 가 없으면 sum 쿼리
+
+    private final String fieldName;
+
+    OrderField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    //fields=orderId,orderStatus,totalPrice
+    public static Set<OrderField> parse(String fields) {
+        Set<OrderField> parsed = EnumSet.noneOf(OrderField.class);
+
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            parsed.add(Arrays.stream(values())
+                    .filter(f -> f.fieldName.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidFieldsException("알 수 없는 필드입니다: " + trimmed + " (" + names() + ")")));
+        }
+
+        if (parsed.isEmpty()) {
+            throw new InvalidFieldsException("fields 에 필드를 하나 이상 지정해야 합니다. (" + names() + ")");
+        }
+
+        return parsed;
+    }
+
+    private static String names() {
+        return Arrays.stream(values()).map(f -> f.fieldName).collect(Collectors.joining(", "));
+    }
+}
@@ -1,5 +1,6 @@
 package jpabook.jpashop.repository.order.query;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.OrderStatus;
 import lombok.Data;
@@ -16,6 +17,8 @@ public class OrderFlatDto {
     private OrderStatus orderStatus;
     private Address address;
 
+    @JsonIgnore
+    private Long itemId;
     private String itemName;
     private int orderPrice;
     private int count;
@@ -32,4 +35,18 @@ public class OrderFlatDto {
         this.orderPrice = orderPrice;
         this.count = count;
     }
+
+    //item 조인 없이 order_item 컬럼만 조회 -> 상품명은 ItemNameDictionary 로 채운다.
+    public OrderFlatDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address,
+                        Long itemId, int orderPrice, int count) {
+
+        this.orderId = orderId;
+        this.name = name;
+        this.orderDate = orderDate;
+        this.orderStatus = orderStatus;
+        this.address = address;
+        this.itemId = itemId;
+        this.orderPrice = orderPrice;
+        this.count = count;
+    }
 }
@@ -8,6 +8,8 @@ public class OrderItemQueryDto {
 
     @JsonIgnore
     private Long orderId;
+    @JsonIgnore
+    private Long itemId;
     private String itemName;
     private int orderPrice;
     private int count;
@@ -18,4 +20,12 @@ public class OrderItemQueryDto {
         this.orderPrice = orderPrice;
         this.count = count;
     }
+
+    //item 조인 없이 order_item 컬럼만 조회 -> 상품명은 ItemNameDictionary 로 채운다.
+    public OrderItemQueryDto(Long orderId, Long itemId, int orderPrice, int count) {
+        this.orderId = orderId;
+        this.itemId = itemId;
+        this.orderPrice = orderPrice;
+        this.count = count;
+    }
 }
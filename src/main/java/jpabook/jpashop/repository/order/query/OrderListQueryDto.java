@@ -0,0 +1,34 @@
+package jpabook.jpashop.repository.order.query;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 내역 화면 (orderList.html) 전용 DTO
+ * 대표상품(첫번째 주문상품)까지 한번의 쿼리로 조회한다.
+ */
+@Data
+public class OrderListQueryDto {
+
+    private Long orderId;
+    private String memberName;
+    private String itemName; //대표상품 이름
+    private int orderPrice; //대표상품 주문가격
+    private int count; //대표상품 주문수량
+    private OrderStatus orderStatus;
+    private LocalDateTime orderDate;
+
+    public OrderListQueryDto(Long orderId, String memberName, String itemName, int orderPrice, int count,
+                             OrderStatus orderStatus, LocalDateTime orderDate) {
+
+        this.orderId = orderId;
+        this.memberName = memberName;
+        this.itemName = itemName;
+        this.orderPrice = orderPrice;
+        this.count = count;
+        this.orderStatus = orderStatus;
+        this.orderDate = orderDate;
+    }
+}
@@ -1,18 +1,48 @@
 package jpabook.jpashop.repository.order.query;
 
+import jpabook.jpashop.archive.OrderArchiveBoundary;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.support.LongStringMap;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
 public class OrderQueryRepository {
 
+    private static final String HOT_ORDER_LIST =
+            "select new jpabook.jpashop.repository.order.query.OrderListQueryDto(o.id, m.name, i.name, coalesce(oi.orderPrice, 0), coalesce(oi.count, 0), o.status, o.orderDate) " +
+                    "from Order o " +
+                    "join o.member m " +
+                    "left join o.orderItems oi " + //countOrderList 와 같은 주문 집합 (주문상품이 없는 주문도 포함)
+                    "left join oi.item i " +
+                    "where (oi.id is null or oi.id = (select min(oi2.id) from OrderItem oi2 where oi2.order = o))"; //대표상품 1건만 조인
+
+    //보관 주문은 연관관계 없이 FK 값만 가진다 -> 엔티티 조인 (on)
+    private static final String ARCHIVED_ORDER_LIST =
+            "select new jpabook.jpashop.repository.order.query.OrderListQueryDto(o.id, m.name, i.name, coalesce(oi.orderPrice, 0), coalesce(oi.count, 0), o.status, o.orderDate) " +
+                    "from ArchivedOrder o " +
+                    "join Member m on m.id = o.memberId " +
+                    "left join ArchivedOrderItem oi on oi.orderId = o.id " +
+                    "left join Item i on i.id = oi.itemId " +
+                    "where (oi.id is null or oi.id = (select min(oi2.id) from ArchivedOrderItem oi2 where oi2.orderId = o.id))";
+
     private final EntityManager em;
+    private final OrderArchiveBoundary orderArchiveBoundary;
+    private final ItemNameDictionary itemNameDictionary;
 
     //OrderApiController - v4 (OrderQueryDto -> order, member, delivery -> OrderItemQueryDto)
     public List<OrderQueryDto> findOrderQueryDtos() {
@@ -38,16 +68,211 @@ public class OrderQueryRepository {
         return result;
     }
 
-    //OrderApiController - v6 (OrderFlatDto -> order, member, delivery, orderItems, item)
+    //OrderApiController - v5 fields= (요청한 필드만 조회 -> 필요 없는 조인, orderItem 쿼리는 실행하지 않는다)
+    public List<Map<String, Object>> findOrderFields(Set<OrderField> fields) {
+        List<OrderField> columns = new ArrayList<>();
+        String select = "select o.id";
+        String from = " from Order o";
+
+        if (fields.contains(OrderField.NAME)) {
+            columns.add(OrderField.NAME);
+            select += ", m.name";
+            from += " join o.member m";
+        }
+        if (fields.contains(OrderField.ORDER_DATE)) {
+            columns.add(OrderField.ORDER_DATE);
+            select += ", o.orderDate";
+        }
+        if (fields.contains(OrderField.ORDER_STATUS)) {
+            columns.add(OrderField.ORDER_STATUS);
+            select += ", o.status";
+        }
+        if (fields.contains(OrderField.ADDRESS)) {
+            columns.add(OrderField.ADDRESS);
+            select += ", d.address";
+            from += " join o.delivery d";
+        }
+
+        //select 항목이 하나면 Object[] 가 아닌 값 자체가 반환된다.
+        List<?> rows = em.createQuery(select + from + " order by o.id").getResultList();
+        Map<Long, Map<String, Object>> result = new LinkedHashMap<>();
+
+        for (Object row : rows) {
+            Object[] values = row instanceof Object[] array ? array : new Object[]{row};
+            Map<String, Object> order = new LinkedHashMap<>();
+
+            if (fields.contains(OrderField.ORDER_ID)) {
+                order.put(OrderField.ORDER_ID.getFieldName(), values[0]);
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                order.put(columns.get(i).getFieldName(), values[i + 1]);
+            }
+
+            result.put((Long) values[0], order);
+        }
+
+        if (result.isEmpty()) {
+            return new ArrayList<>(result.values());
+        }
+
+        List<Long> orderIds = new ArrayList<>(result.keySet());
+
+        if (fields.contains(OrderField.ORDER_ITEMS)) {
+            Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(orderIds);
+
+            result.forEach((orderId, order) -> {
+                List<OrderItemQueryDto> orderItems = orderItemMap.getOrDefault(orderId, List.of());
+                order.put(OrderField.ORDER_ITEMS.getFieldName(), orderItems);
+
+                if (fields.contains(OrderField.TOTAL_PRICE)) {
+                    order.put(OrderField.TOTAL_PRICE.getFieldName(),
+                            orderItems.stream().mapToLong(oi -> (long) oi.getOrderPrice() * oi.getCount()).sum());
+                }
+            });
+        } else if (fields.contains(OrderField.TOTAL_PRICE)) {
+            Map<Long, Long> totals = findTotalPrices(orderIds);
+            result.forEach((orderId, order) ->
+                    order.put(OrderField.TOTAL_PRICE.getFieldName(), totals.getOrDefault(orderId, 0L)));
+        }
+
+        return new ArrayList<>(result.values());
+    }
+
+    //OrderApiController - v6 (OrderFlatDto -> order, member, delivery, orderItems / 상품명은 ItemNameDictionary)
     public List<OrderFlatDto> findAllByDto_flat() {
-        return em.createQuery(
-                "select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count) " +
+        List<OrderFlatDto> result = em.createQuery(
+                "select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, oi.item.id, oi.orderPrice, oi.count) " +
                         "from Order o " +
                         "join o.member m " +
                         "join o.delivery d " +
-                        "join o.orderItems oi " +
-                        "join oi.item i", OrderFlatDto.class)
+                        "join o.orderItems oi", OrderFlatDto.class)
                 .getResultList();
+
+        return withFlatItemNames(result);
+    }
+
+    //OrderApiController - v6 주문일 범위 [from, to) 조회 -> 범위가 보관 경계 이전을 포함할 때만 archive 테이블도 조회
+    public List<OrderFlatDto> findAllByDto_flat(LocalDateTime from, LocalDateTime to) {
+        List<OrderFlatDto> result = new ArrayList<>();
+
+        if (orderArchiveBoundary.requiresArchive(from)) {
+            result.addAll(findFlats(
+                    "select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, oi.itemId, oi.orderPrice, oi.count) " +
+                            "from ArchivedOrder o, Member m, ArchivedDelivery d, ArchivedOrderItem oi " +
+                            "where m.id = o.memberId and d.id = o.deliveryId and oi.orderId = o.id", from, to));
+        }
+
+        result.addAll(findFlats(
+                "select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, oi.item.id, oi.orderPrice, oi.count) " +
+                        "from Order o " +
+                        "join o.member m " +
+                        "join o.delivery d " +
+                        "join o.orderItems oi " +
+                        "where 1 = 1", from, to));
+
+        return withFlatItemNames(result);
+    }
+
+    /**
+     * OrderController - 주문 내역 화면 (order, member, 대표 orderItem, item -> 페이징)
+     * 주문일 범위가 보관 경계 이전을 포함하면 archive 테이블도 조회 -> 양쪽에서 offset + limit 건씩 가져와 id 역순으로 병합
+     */
+    public List<OrderListQueryDto> findOrderList(OrderSearch orderSearch, int offset, int limit) {
+        if (!orderArchiveBoundary.requiresArchive(orderSearch.getFromDateTime())) {
+            return findOrderList(HOT_ORDER_LIST, orderSearch, offset, limit);
+        }
+
+        List<OrderListQueryDto> merged = new ArrayList<>(findOrderList(HOT_ORDER_LIST, orderSearch, 0, offset + limit));
+        merged.addAll(findOrderList(ARCHIVED_ORDER_LIST, orderSearch, 0, offset + limit));
+        merged.sort(Comparator.comparing(OrderListQueryDto::getOrderId).reversed());
+
+        return merged.subList(Math.min(offset, merged.size()), Math.min(offset + limit, merged.size()));
+    }
+
+    //주문 내역 화면 페이징을 위한 전체 건수 (count 쿼리는 orderItem, item 조인이 필요 없다 -> 목록은 left join 이므로 주문 수가 같다)
+    public long countOrderList(OrderSearch orderSearch) {
+        long count = countOrderList("select count(o) from Order o join o.member m where 1 = 1", orderSearch);
+
+        if (orderArchiveBoundary.requiresArchive(orderSearch.getFromDateTime())) {
+            count += countOrderList("select count(o) from ArchivedOrder o join Member m on m.id = o.memberId where 1 = 1", orderSearch);
+        }
+
+        return count;
+    }
+
+    private List<OrderListQueryDto> findOrderList(String jpql, OrderSearch orderSearch, int offset, int limit) {
+        TypedQuery<OrderListQueryDto> query = em.createQuery(jpql +
+                        orderSearchCondition(orderSearch) +
+                        " order by o.id desc", OrderListQueryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+
+        bindOrderSearch(query, orderSearch);
+
+        return query.getResultList();
+    }
+
+    private long countOrderList(String jpql, OrderSearch orderSearch) {
+        TypedQuery<Long> query = em.createQuery(jpql + orderSearchCondition(orderSearch), Long.class);
+        bindOrderSearch(query, orderSearch);
+
+        return query.getSingleResult();
+    }
+
+    private String orderSearchCondition(OrderSearch orderSearch) {
+        String condition = "";
+
+        if (orderSearch.getOrderStatus() != null) {
+            condition += " and o.status = :status";
+        }
+
+        if (StringUtils.hasText(orderSearch.getMemberName())) {
+            condition += " and m.name like :name";
+        }
+
+        if (orderSearch.getFromDateTime() != null) {
+            condition += " and o.orderDate >= :from";
+        }
+
+        if (orderSearch.getToDateTime() != null) {
+            condition += " and o.orderDate < :to";
+        }
+
+        return condition;
+    }
+
+    private void bindOrderSearch(TypedQuery<?> query, OrderSearch orderSearch) {
+        if (orderSearch.getOrderStatus() != null) {
+            query.setParameter("status", orderSearch.getOrderStatus());
+        }
+
+        if (StringUtils.hasText(orderSearch.getMemberName())) {
+            query.setParameter("name", orderSearch.getMemberName());
+        }
+
+        if (orderSearch.getFromDateTime() != null) {
+            query.setParameter("from", orderSearch.getFromDateTime());
+        }
+
+        if (orderSearch.getToDateTime() != null) {
+            query.setParameter("to", orderSearch.getToDateTime());
+        }
+    }
+
+    private List<OrderFlatDto> findFlats(String jpql, LocalDateTime from, LocalDateTime to) {
+        TypedQuery<OrderFlatDto> query = em.createQuery(jpql +
+                (from != null ? " and o.orderDate >= :from" : "") +
+                (to != null ? " and o.orderDate < :to" : ""), OrderFlatDto.class);
+
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+
+        return query.getResultList();
     }
 
     private List<OrderQueryDto> findOrders() {
@@ -60,13 +285,14 @@ public class OrderQueryRepository {
     }
 
     private List<OrderItemQueryDto> findOrderItems(Long orderId) {
-        return em.createQuery(
-                "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count) " +
+        List<OrderItemQueryDto> orderItems = em.createQuery(
+                "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, oi.item.id, oi.orderPrice, oi.count) " +
                         "from OrderItem oi " +
-                        "join oi.item i " +
                         "where oi.order.id = :orderId", OrderItemQueryDto.class)
                 .setParameter("orderId", orderId)
                 .getResultList();
+
+        return withItemNames(orderItems);
     }
 
     private List<Long> toOrderIds(List<OrderQueryDto> result) {
@@ -79,12 +305,12 @@ public class OrderQueryRepository {
 
     private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
         List<OrderItemQueryDto> orderItems = em.createQuery(
-                "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count) " +
+                "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, oi.item.id, oi.orderPrice, oi.count) " +
                         "from OrderItem oi " +
-                        "join oi.item i " +
                         "where oi.order.id in :orderIds", OrderItemQueryDto.class)
                 .setParameter("orderIds", orderIds)
                 .getResultList();
+        withItemNames(orderItems);
 
         //orderItem 컬렉션을 map 한방에 조회
         Map<Long, List<OrderItemQueryDto>> orderItemMap = orderItems.stream()
@@ -92,4 +318,35 @@ public class OrderQueryRepository {
 
         return orderItemMap;
     }
+
+    //orderItem 을 읽지 않고 주문별 합계만 (group by)
+    private Map<Long, Long> findTotalPrices(List<Long> orderIds) {
+        List<Object[]> rows = em.createQuery(
+                "select oi.order.id, sum(oi.orderPrice * oi.count) " +
+                        "from OrderItem oi " +
+                        "where oi.order.id in :orderIds " +
+                        "group by oi.order.id", Object[].class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+
+        Map<Long, Long> totals = new HashMap<>();
+        rows.forEach(row -> totals.put((Long) row[0], ((Number) row[1]).longValue()));
+
+        return totals;
+    }
+
+    //order_item.item_id -> 상품명 (item 조인 x)
+    private List<OrderItemQueryDto> withItemNames(List<OrderItemQueryDto> orderItems) {
+        LongStringMap names = itemNameDictionary.resolve(orderItems.stream().mapToLong(OrderItemQueryDto::getItemId).toArray());
+        orderItems.forEach(oi -> oi.setItemName(names.get(oi.getItemId())));
+
+        return orderItems;
+    }
+
+    private List<OrderFlatDto> withFlatItemNames(List<OrderFlatDto> flats) {
+        LongStringMap names = itemNameDictionary.resolve(flats.stream().mapToLong(OrderFlatDto::getItemId).toArray());
+        flats.forEach(f -> f.setItemName(names.get(f.getItemId())));
+
+        return flats;
+    }
 }
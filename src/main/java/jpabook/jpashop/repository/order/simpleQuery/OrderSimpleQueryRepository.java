@@ -15,7 +15,7 @@ public class OrderSimpleQueryRepository {
     //OrderSimpleApiController - v4 (OrderSimpleQueryDto -> order, member, delivery)
     public List<OrderSimpleQueryDto> findOrderDtos() {
         return em.createQuery(
-                "select new jpabook.jpashop.repository.OrderSimpleQueryDto(o.id, m.name, o.orderDate, o.status, d.address) " +
+                "select new jpabook.jpashop.repository.order.simpleQuery.OrderSimpleQueryDto(o.id, m.name, o.orderDate, o.status, d.address) " +
                         "from Order o " +
                         "join o.member m " +
                         "join o.delivery d", OrderSimpleQueryDto.class)
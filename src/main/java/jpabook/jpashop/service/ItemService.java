@@ -1,9 +1,11 @@
 package jpabook.jpashop.service;
 
+import jpabook.jpashop.domain.event.ItemNameChangedEvent;
 import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,10 +17,17 @@ import java.util.List;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher publisher;
 
     @Transactional
     public void saveItem(Item item) {
+        boolean merge = item.getId() != null;
         itemRepository.save(item);
+
+        //merge 는 setter 를 거치지 않으므로 상품명 변경을 직접 알린다. (신규 등록은 @PostPersist)
+        if (merge && item.getName() != null) {
+            publisher.publishEvent(new ItemNameChangedEvent(item.getId(), item.getName()));
+        }
     }
 
     /**
@@ -41,6 +50,19 @@ public class ItemService {
         return itemRepository.findAll();
     }
 
+    //keyset 페이징
+    public List<Item> findItems(Long lastId, int size) {
+        return itemRepository.findPage(lastId, size);
+    }
+
+    public long countItems() {
+        return itemRepository.count();
+    }
+
+    public List<Item> searchItems(String prefix, int limit) {
+        return itemRepository.findByNamePrefix(prefix, limit);
+    }
+
     public Item findOne(Long itemId) {
         return itemRepository.findOne(itemId);
     }
@@ -0,0 +1,26 @@
+package jpabook.jpashop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class MemberImportResult {
+
+    private long total;
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>(); //최대 MemberImportService.MAX_ERRORS 건
+    private boolean errorsTruncated;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long row; //1부터 (CSV 헤더 제외)
+        private String name;
+        private String message;
+    }
+}
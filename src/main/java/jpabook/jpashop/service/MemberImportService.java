@@ -0,0 +1,245 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 회원 대량 등록 (JSON 배열, CSV)
+ *
+ * 요청 본문을 한 줄(한 원소)씩 읽어서 CHUNK_SIZE 단위로 처리 -> 요청 크기와 상관없이 메모리 사용량이 일정하다.
+ * chunk 마다 : 이름 검증 -> 기존 이름을 in 쿼리 한 번으로 확인 -> persist (JDBC batch) -> flush, clear -> 커밋
+ * 실패한 row 는 건너뛰고 오류로 남긴다. (이미 커밋된 chunk 는 유지)
+ */
+@Slf4j
+@Service
+public class MemberImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_ERRORS = 1000;
+    static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final MemberRepository memberRepository;
+    private final MemberNameFilter memberNameFilter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public MemberImportService(MemberRepository memberRepository, MemberNameFilter memberNameFilter,
+                               ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.memberNameFilter = memberNameFilter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    //[{"name": "...", "city": "...", "street": "...", "zipcode": "..."}, ...] -> 배열 원소를 하나씩 읽는다.
+    public MemberImportResult importJson(InputStream body) throws IOException {
+        try (MappingIterator<MemberImportRow> rows = objectMapper.readerFor(MemberImportRow.class).readValues(body)) {
+            return importRows(rows);
+        }
+    }
+
+    //name,city,street,zipcode (첫 줄의 첫 필드가 name 이면 헤더로 보고 건너뛴다)
+    public MemberImportResult importCsv(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        Iterator<MemberImportRow> rows = new Iterator<>() {
+            private String next = firstLine();
+
+            private String firstLine() {
+                String line = readLine();
+                return line != null && isHeader(line) ? readLine() : line; //"name..." 으로 시작하는 회원 이름 (namju, ...) 은 데이터
+            }
+
+            private String readLine() {
+                try {
+                    return reader.readLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public MemberImportRow next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+
+                List<String> fields = splitCsv(next);
+                next = readLine();
+
+                return new MemberImportRow(field(fields, 0), field(fields, 1), field(fields, 2), field(fields, 3));
+            }
+        };
+
+        try (reader) {
+            return importRows(rows);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    MemberImportResult importRows(Iterator<MemberImportRow> rows) {
+        MemberImportResult result = new MemberImportResult();
+        List<MemberImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        long rowNumber = 0;
+
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+
+            if (chunk.size() == CHUNK_SIZE || !rows.hasNext()) {
+                importChunk(chunk, rowNumber, result);
+                rowNumber += chunk.size();
+                chunk.clear();
+            }
+        }
+
+        result.setTotal(rowNumber);
+        log.info("member import : total={}, imported={}, failed={}", result.getTotal(), result.getImported(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * 동시에 같은 이름이 가입되어 unique 제약에 걸리면 다시 시도 (새로 가입된 이름은 기존 이름 조회에서 걸러진다)
+     * MAX_CHUNK_ATTEMPTS 번 모두 충돌하면 row 마다 따로 저장 -> 충돌한 row 만 오류로 남기고 나머지는 등록한다.
+     */
+    private void importChunk(List<MemberImportRow> chunk, long firstRow, MemberImportResult result) {
+        for (int attempt = 1; attempt <= MAX_CHUNK_ATTEMPTS; attempt++) {
+            try {
+                saveChunk(chunk, firstRow, result);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                log.debug("member import chunk conflict (row {}, attempt {})", firstRow + 1, attempt);
+            }
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                saveChunk(List.of(chunk.get(i)), firstRow + i, result);
+            } catch (DataIntegrityViolationException e) {
+                addErrors(result, List.of(new MemberImportResult.RowError(firstRow + i + 1, chunk.get(i).getName(), "이미 존재하는 회원입니다.")));
+            }
+        }
+    }
+
+    private void saveChunk(List<MemberImportRow> chunk, long firstRow, MemberImportResult result) {
+        List<MemberImportResult.RowError> errors = new ArrayList<>();
+        List<String> saved = transactionTemplate.execute(status -> {
+            Set<String> names = new HashSet<>();
+            for (MemberImportRow row : chunk) {
+                if (StringUtils.hasText(row.getName())) {
+                    names.add(row.getName().trim());
+                }
+            }
+            Set<String> existing = memberRepository.findExistingNames(names); //chunk 당 쿼리 1번
+
+            List<String> savedNames = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+
+            for (int i = 0; i < chunk.size(); i++) {
+                MemberImportRow row = chunk.get(i);
+                String name = row.getName() == null ? null : row.getName().trim();
+
+                if (!StringUtils.hasText(name)) {
+                    errors.add(new MemberImportResult.RowError(firstRow + i + 1, row.getName(), "회원 이름은 필수 입니다."));
+                } else if (existing.contains(name) || !seen.add(name)) {
+                    errors.add(new MemberImportResult.RowError(firstRow + i + 1, name, "이미 존재하는 회원입니다."));
+                } else {
+                    memberRepository.save(toMember(name, row));
+                    savedNames.add(name);
+                }
+            }
+
+            memberRepository.flushAndClear(); //insert batch 전송, 1차 캐시 비우기
+            return savedNames;
+        });
+
+        saved.forEach(memberNameFilter::add);
+        result.setImported(result.getImported() + saved.size());
+        addErrors(result, errors);
+    }
+
+    private void addErrors(MemberImportResult result, List<MemberImportResult.RowError> errors) {
+        result.setFailed(result.getFailed() + errors.size());
+
+        for (MemberImportResult.RowError error : errors) {
+            if (result.getErrors().size() < MAX_ERRORS) {
+                result.getErrors().add(error);
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    private Member toMember(String name, MemberImportRow row) {
+        Member member = new Member();
+        member.setName(name);
+
+        if (StringUtils.hasText(row.getCity()) || StringUtils.hasText(row.getStreet()) || StringUtils.hasText(row.getZipcode())) {
+            member.setAddress(new Address(row.getCity(), row.getStreet(), row.getZipcode()));
+        }
+
+        return member;
+    }
+
+    private static boolean isHeader(String line) {
+        return "name".equalsIgnoreCase(splitCsv(line).get(0));
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() && !fields.get(index).isEmpty() ? fields.get(index) : null;
+    }
+
+    //"..." 로 감싼 필드 안의 쉼표, "" (따옴표) 지원
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+
+        return fields;
+    }
+}
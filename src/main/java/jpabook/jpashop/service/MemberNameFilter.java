@@ -0,0 +1,76 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.support.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원 이름 중복 검사 전 필터 (jpashop.member.name-filter.enabled)
+ * 필터에 없는 이름 -> DB 조회 없이 가입 진행, 있을 수도 있는 이름만 DB 에서 확인한다.
+ *
+ * 다른 인스턴스에서 가입한 이름, rebuild 도중 가입한 이름은 필터에 없을 수 있지만
+ * 그 경우에도 member.name unique 제약이 중복을 막는다. (필터는 조회를 줄이는 용도)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberNameFilter {
+
+    private final MemberRepository memberRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jpashop.member.name-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jpashop.member.name-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${jpashop.member.name-filter.fpp:0.01}")
+    private double fpp;
+
+    private volatile BloomFilter filter; //null -> 아직 만들어지지 않음 (모두 DB 확인)
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1) //InitDb 시드 다음, ApplicationWarmup 전
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        BloomFilter names = BloomFilter.create(expectedInsertions, fpp);
+        AtomicLong count = new AtomicLong();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                memberRepository.streamAllNames().forEach(name -> {
+                    names.add(name);
+                    count.incrementAndGet();
+                }));
+
+        filter = names;
+        log.info("member name filter rebuilt : {} names", count.get());
+    }
+
+    public boolean mightExist(String name) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(name);
+    }
+
+    public void add(String name) {
+        BloomFilter current = filter;
+
+        if (current != null) {
+            current.add(name);
+        }
+    }
+}
@@ -3,10 +3,12 @@ package jpabook.jpashop.service;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @Transactional(readOnly = true) //JPA 의 모든 데이터 변경, 로직들은 가급적 transaction 안에서 실행되어야 한다.
@@ -14,14 +16,21 @@ import java.util.List;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final MemberNameFilter memberNameFilter;
 
     /**
      * 회원가입
      */
     @Transactional //읽기 전용이 아니므로 readOnly = false (default)
     public Long join(Member member) {
-        validateDuplicateMember(member); //중복 회원 검증 메소드
-        memberRepository.save(member);
+        validateDuplicateMember(member.getName()); //중복 회원 검증 메소드
+
+        try {
+            memberRepository.saveAndFlush(member); //동시 가입 -> unique 제약 위반
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("이미 존재하는 회원입니다.", e);
+        }
+        memberNameFilter.add(member.getName()); //롤백되더라도 필터의 오탐만 늘어난다.
 
         return member.getId();
     }
@@ -32,7 +41,19 @@ public class MemberService {
     @Transactional
     public void update(Long id, String name) {
         Member member = memberRepository.findOne(id);
+        if (Objects.equals(member.getName(), name)) {
+            return;
+        }
+
+        validateDuplicateMember(name); //가입과 같은 중복 검증
+
         member.setName(name);
+        try {
+            memberRepository.flush(); //동시 수정 -> unique 제약 위반
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("이미 존재하는 회원입니다.", e);
+        }
+        memberNameFilter.add(name);
     }
 
     /**
@@ -42,6 +63,24 @@ public class MemberService {
         return memberRepository.findAll();
     }
 
+    /**
+     * 회원 목록 (keyset 페이징), 전체 회원 수
+     */
+    public List<Member> findMembers(Long lastId, int size) {
+        return memberRepository.findPage(lastId, size);
+    }
+
+    public long countMembers() {
+        return memberRepository.count();
+    }
+
+    /**
+     * 이름 앞부분으로 회원 검색
+     */
+    public List<Member> searchMembers(String prefix, int limit) {
+        return memberRepository.findByNamePrefix(prefix, limit);
+    }
+
     /**
      * 특정 회원 조회
      */
@@ -49,10 +88,9 @@ public class MemberService {
         return memberRepository.findOne(memberId);
     }
 
-    private void validateDuplicateMember(Member member) {
-        List<Member> findMembers = memberRepository.findByName(member.getName());
-
-        if(!findMembers.isEmpty()) {
+    //필터에 없는 이름은 DB 조회 생략 (최종 판단은 unique 제약)
+    private void validateDuplicateMember(String name) {
+        if (memberNameFilter.mightExist(name) && memberRepository.existsByName(name)) {
             throw new IllegalStateException("이미 존재하는 회원입니다.");
         }
     }
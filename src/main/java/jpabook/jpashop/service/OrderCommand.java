@@ -0,0 +1,7 @@
+package jpabook.jpashop.service;
+
+/**
+ * 주문 요청 (OrderService.orderAll)
+ */
+public record OrderCommand(Long memberId, Long itemId, int count) {
+}
@@ -0,0 +1,19 @@
+package jpabook.jpashop.service;
+
+/**
+ * orderAll 의 주문별 결과 -> 성공 : orderId, 실패 : error
+ */
+public record OrderResult(Long orderId, RuntimeException error) {
+
+    public static OrderResult success(Long orderId) {
+        return new OrderResult(orderId, null);
+    }
+
+    public static OrderResult failure(RuntimeException error) {
+        return new OrderResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
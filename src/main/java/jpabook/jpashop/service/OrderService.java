@@ -2,15 +2,22 @@ package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.*;
 import jpabook.jpashop.domain.item.Item;
-import jpabook.jpashop.repository.ItemRepository;
-import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import jpabook.jpashop.exception.OrderNotFoundException;
+import jpabook.jpashop.jfr.OrderCancelledEvent;
+import jpabook.jpashop.jfr.OrderPlacedEvent;
+import jpabook.jpashop.outbox.OrderOutbox;
+import jpabook.jpashop.repository.FetchGraph;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSource;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional(readOnly = true)
@@ -18,27 +25,76 @@ import java.util.List;
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final MemberRepository memberRepository;
-    private final ItemRepository itemRepository;
+    private final OrderOutbox orderOutbox;
 
     /**
      * 주문
      */
     @Transactional
     public Long order(Long memberId, Long itemId, int count) {
-        //엔티티 조회
-        Member member = memberRepository.findOne(memberId);
-        Item item = itemRepository.findOne(itemId);
+        OrderPlacedEvent event = OrderPlacedEvent.start(); //JFR
+
+        //엔티티 조회 -> 회원은 배송지만 필요하므로 회원 엔티티 대신 배송지와 상품을 한 번에 조회
+        OrderSource source = orderRepository.findOrderSource(memberId, itemId);
+        if (source == null) {
+            throw new IllegalArgumentException("회원 또는 상품이 존재하지 않습니다.");
+        }
+
+        Long orderId = placeOrder(memberId, source, count);
+        event.placed(orderId, memberId, itemId, count);
+
+        return orderId;
+    }
+
+    /**
+     * 주문 여러 건을 한 트랜잭션으로 저장 (OrderPipeline 그룹 커밋)
+     * 회원, 상품이 없거나 재고가 부족한 주문은 엔티티를 변경하기 전에 걸러지므로, 해당 주문만 실패로 남기고 나머지는 커밋한다.
+     * 배송지, 상품은 그룹 전체를 먼저 in 쿼리로 조회 -> 주문 생성 중에는 쿼리(auto flush)가 없으므로
+     * insert 는 hibernate.jdbc.batch_size 단위로 묶여서 flush 된다.
+     */
+    @Transactional
+    public List<OrderResult> orderAll(List<OrderCommand> commands) {
+        if (commands.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Address> addresses = orderRepository.findAddresses(commands.stream().map(OrderCommand::memberId).distinct().toList());
+        Map<Long, Item> items = orderRepository.findItems(commands.stream().map(OrderCommand::itemId).distinct().toList());
+        List<OrderResult> results = new ArrayList<>(commands.size());
+
+        for (OrderCommand command : commands) {
+            OrderPlacedEvent event = OrderPlacedEvent.start();
+            Item item = items.get(command.itemId());
+            if (!addresses.containsKey(command.memberId()) || item == null) {
+                results.add(OrderResult.failure(new IllegalArgumentException("회원 또는 상품이 존재하지 않습니다.")));
+                continue;
+            }
+
+            try {
+                Long orderId = placeOrder(command.memberId(), new OrderSource(addresses.get(command.memberId()), item), command.count());
+                event.placed(orderId, command.memberId(), command.itemId(), command.count());
+                results.add(OrderResult.success(orderId));
+            } catch (NotEnoughStockException e) {
+                results.add(OrderResult.failure(e));
+            }
+        }
+
+        return results;
+    }
+
+    private Long placeOrder(Long memberId, OrderSource source, int count) {
+        Item item = source.item();
 
         //배송정보 생성
         Delivery delivery = new Delivery();
-        delivery.setAddress(member.getAddress());
+        delivery.setAddress(source.address());
         delivery.setStatus(DeliveryStatus.READY);
 
-        //주문 생성
+        //주문 생성 -> 회원은 프록시 (member_id FK 만 필요)
         OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count);
-        Order order = Order.createOrder(member, delivery, orderItem);
+        Order order = Order.createOrder(orderRepository.getMemberReference(memberId), delivery, orderItem);
         orderRepository.save(order); //cascade -> orderItems, delivery 자동으로 persist
+        orderOutbox.orderCreated(order); //같은 트랜잭션 -> 주문이 커밋될 때만 이벤트도 남는다.
 
         return order.getId();
     }
@@ -48,8 +104,18 @@ public class OrderService {
      */
     @Transactional
     public void cancelOrder(Long orderId) {
-        Order order = orderRepository.findOne(orderId);
+        OrderCancelledEvent event = OrderCancelledEvent.start(); //JFR
+
+        Order order = orderRepository.findOne(orderId, FetchGraph.ORDER_ITEMS); //취소 -> 배송, 주문상품, 상품 재고까지 select 1번
+
+        if (order == null) { //없는 주문 또는 보관(archive)된 주문 -> 종료된 주문이므로 취소 대상이 아니다.
+            throw new OrderNotFoundException("주문이 존재하지 않습니다. orderId=" + orderId);
+        }
+
         order.cancel(); //Order, OrderItem
+        orderOutbox.orderCancelled(order);
+
+        event.cancelled(orderId);
     }
 
     /**
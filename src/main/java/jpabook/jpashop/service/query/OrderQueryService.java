@@ -1,11 +1,22 @@
 package jpabook.jpashop.service.query;
 
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.repository.FetchGraph;
 import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.order.query.OrderListQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 
+import java.util.List;
+
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -16,6 +27,41 @@ public class OrderQueryService {
      */
 
     private final OrderRepository orderRepository;
+    private final OrderQueryRepository orderQueryRepository;
+
+    /**
+     * 주문 내역 화면 -> 엔티티 대신 DTO 를 페이지 단위로 조회 (지연 로딩 x)
+     */
+    public Page<OrderListQueryDto> findOrderList(OrderSearch orderSearch, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        List<OrderListQueryDto> content = orderQueryRepository.findOrderList(orderSearch, (int) pageRequest.getOffset(), size);
+        long total = orderQueryRepository.countOrderList(orderSearch);
+
+        return new PageImpl<>(content, pageRequest, total);
+    }
+
+    /**
+     * 주문 검색 (최대 1000건) + 컬렉션 (OSIV off)
+     * 컬렉션 그래프에 setMaxResults 를 쓰면 메모리에서 페이징한다. (HHH000104)
+     * -> XToOne 만 그래프로 조회하고 orderItems -> item 은 트랜잭션 안에서 batch fetch 로 초기화 (v3.1 과 같은 방식)
+     */
+    public List<Order> findOrdersWithItems(OrderSearch orderSearch) {
+        List<Order> orders = orderRepository.findAllByString(orderSearch, FetchGraph.ORDER_MEMBER_DELIVERY);
+        orders.forEach(o -> o.getOrderItems().forEach(oi -> Hibernate.initialize(oi.getItem())));
+
+        return orders;
+    }
+
+    /**
+     * 컬렉션 페이징 (OSIV off)
+     * XToOne 은 fetch join 으로 페이징, orderItems -> item 은 트랜잭션 안에서 batch fetch 로 미리 초기화해서 반환한다.
+     */
+    public List<Order> findOrdersWithItems(int offset, int limit) {
+        List<Order> orders = orderRepository.findAllWithMemberDelivery(offset, limit);
+        orders.forEach(o -> o.getOrderItems().forEach(oi -> Hibernate.initialize(oi.getItem())));
+
+        return orders;
+    }
 
 //    @GetMapping("/api/v3/orders")
 //    public List<OrderDto> ordersV3() {
@@ -0,0 +1,46 @@
+package jpabook.jpashop.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 shard (jpashop.shard.enabled=true)
+ * shard DataSource 는 빈으로 등록하지 않는다 -> JPA 는 기존 (primary) DataSource 하나만 사용
+ */
+@Configuration
+@ConditionalOnProperty(name = "jpashop.shard.enabled", havingValue = "true")
+@EnableConfigurationProperties(OrderShardProperties.class)
+public class OrderShardConfig {
+
+    @Bean
+    public OrderShards orderShards(OrderShardProperties properties) {
+        if (properties.getUrls().isEmpty()) {
+            throw new IllegalStateException("jpashop.shard.urls 설정이 필요합니다.");
+        }
+
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("shard/schema.sql"));
+
+        for (int shard = 0; shard < properties.getUrls().size(); shard++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("order-shard-" + shard);
+            dataSource.setJdbcUrl(properties.getUrls().get(shard));
+            dataSource.setUsername(properties.getUsername());
+            dataSource.setPassword(properties.getPassword());
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+
+            schema.execute(dataSource); //create ... if not exists
+            dataSources.add(dataSource);
+        }
+
+        return new OrderShards(dataSources);
+    }
+}
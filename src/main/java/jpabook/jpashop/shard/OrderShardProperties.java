@@ -0,0 +1,19 @@
+package jpabook.jpashop.shard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@ConfigurationProperties("jpashop.shard")
+public class OrderShardProperties {
+
+    private boolean enabled;
+    private List<String> urls = new ArrayList<>(); //shard 번호 = 목록 순서 (운영 중 변경 x)
+    private String username = "sa";
+    private String password = "";
+    private int maximumPoolSize = 10; //shard 당 커넥션 수
+}
@@ -0,0 +1,94 @@
+package jpabook.jpashop.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 주문 shard 목록
+ * member_id -> shard 번호 (member_id mod N), 주문 id 에도 shard 번호를 담는다. (order_id = shard 로컬 시퀀스 * N + shard)
+ * -> 주문 id 만으로 shard 를 찾을 수 있다.
+ */
+public class OrderShards implements DisposableBean {
+
+    private final List<HikariDataSource> dataSources;
+    private final List<JdbcTemplate> jdbcTemplates;
+    private final List<TransactionTemplate> transactionTemplates;
+    private final ExecutorService executor; //scatter 조회용
+
+    public OrderShards(List<HikariDataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+        this.jdbcTemplates = dataSources.stream()
+                .map(JdbcTemplate::new)
+                .toList();
+        this.transactionTemplates = dataSources.stream()
+                .map(dataSource -> new TransactionTemplate(new DataSourceTransactionManager(dataSource)))
+                .toList();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(dataSources.size(), r -> {
+            Thread thread = new Thread(r, "order-shard-scatter-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int size() {
+        return jdbcTemplates.size();
+    }
+
+    public int shardOf(Long memberId) {
+        return (int) Math.floorMod(memberId, (long) size());
+    }
+
+    public int shardOfOrder(Long orderId) {
+        return (int) Math.floorMod(orderId, (long) size());
+    }
+
+    public long toOrderId(int shard, long localSequence) {
+        return localSequence * size() + shard;
+    }
+
+    public JdbcTemplate jdbc(int shard) {
+        return jdbcTemplates.get(shard);
+    }
+
+    //shard 로컬 트랜잭션
+    public <T> T inTransaction(int shard, Function<JdbcTemplate, T> work) {
+        return transactionTemplates.get(shard).execute(status -> work.apply(jdbc(shard)));
+    }
+
+    //모든 shard 에 같은 쿼리를 병렬로 실행 -> shard 순서대로 결과 반환
+    public <T> List<List<T>> scatter(Function<JdbcTemplate, List<T>> query) {
+        List<CompletableFuture<List<T>>> futures = jdbcTemplates.stream()
+                .map(jdbc -> CompletableFuture.supplyAsync(() -> query.apply(jdbc), executor))
+                .toList();
+
+        try {
+            return futures.stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,45 @@
+package jpabook.jpashop.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * shard 별로 정렬된 결과를 하나의 순서로 병합 (k-way merge) 후 offset, limit 적용
+ * 각 shard 에서는 (offset + limit) 건까지만 조회하면 된다.
+ */
+public abstract class ShardMerge {
+
+    public static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> comparator, int offset, int limit) {
+        int[] positions = new int[sortedLists.size()];
+        PriorityQueue<Integer> heads = new PriorityQueue<>((a, b) ->
+                comparator.compare(sortedLists.get(a).get(positions[a]), sortedLists.get(b).get(positions[b])));
+
+        for (int shard = 0; shard < sortedLists.size(); shard++) {
+            if (!sortedLists.get(shard).isEmpty()) {
+                heads.add(shard);
+            }
+        }
+
+        List<T> result = new ArrayList<>(Math.min(limit, 1024));
+        int skipped = 0;
+
+        while (!heads.isEmpty() && result.size() < limit) {
+            int shard = heads.poll();
+            T head = sortedLists.get(shard).get(positions[shard]++);
+
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                result.add(head);
+            }
+
+            if (positions[shard] < sortedLists.get(shard).size()) {
+                heads.add(shard); //다음 원소로 이동 후 다시 경쟁
+            }
+        }
+
+        return result;
+    }
+}
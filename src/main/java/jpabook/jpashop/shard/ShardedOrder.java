@@ -0,0 +1,44 @@
+package jpabook.jpashop.shard;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * shard 에 저장된 주문 (orders + delivery, order_item)
+ * member, item 은 primary 에 있으므로 id 만 가진다.
+ */
+@Getter
+public class ShardedOrder {
+
+    //최신 주문 먼저 (주문 시간이 같으면 id 역순) -> 모든 shard 가 같은 정렬 기준을 사용해야 병합할 수 있다.
+    public static final Comparator<ShardedOrder> LATEST_FIRST =
+            Comparator.comparing(ShardedOrder::getOrderDate)
+                    .thenComparing(ShardedOrder::getOrderId)
+                    .reversed();
+
+    private final Long orderId;
+    private final Long memberId;
+    private final LocalDateTime orderDate;
+    private final OrderStatus status;
+    private final DeliveryStatus deliveryStatus;
+    private final Address address;
+    private final List<ShardedOrderItem> orderItems = new ArrayList<>();
+
+    public ShardedOrder(Long orderId, Long memberId, LocalDateTime orderDate, OrderStatus status,
+                        DeliveryStatus deliveryStatus, Address address) {
+
+        this.orderId = orderId;
+        this.memberId = memberId;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.deliveryStatus = deliveryStatus;
+        this.address = address;
+    }
+}
@@ -0,0 +1,19 @@
+package jpabook.jpashop.shard;
+
+import lombok.Getter;
+
+@Getter
+public class ShardedOrderItem {
+
+    private final Long orderId;
+    private final Long itemId;
+    private final int orderPrice;
+    private final int count;
+
+    public ShardedOrderItem(Long orderId, Long itemId, int orderPrice, int count) {
+        this.orderId = orderId;
+        this.itemId = itemId;
+        this.orderPrice = orderPrice;
+        this.count = count;
+    }
+}
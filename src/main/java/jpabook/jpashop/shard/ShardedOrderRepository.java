@@ -0,0 +1,145 @@
+package jpabook.jpashop.shard;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 shard 리포지토리
+ * 주문 (orders, order_item, delivery) 은 member_id 로 결정된 shard 하나에 함께 저장된다.
+ * 여러 회원에 걸친 조회는 모든 shard 에 같은 쿼리를 보내고 (scatter) 정렬 기준으로 병합한다. (gather)
+ */
+@Repository
+@ConditionalOnProperty(name = "jpashop.shard.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardedOrderRepository {
+
+    private static final String ORDER_SELECT =
+            "select o.order_id, o.member_id, o.order_date, o.status, d.status as delivery_status, d.city, d.street, d.zipcode " +
+                    "from orders o " +
+                    "join delivery d on d.delivery_id = o.delivery_id ";
+
+    private static final RowMapper<ShardedOrder> ORDER_ROW_MAPPER = (rs, rowNum) -> new ShardedOrder(
+            rs.getLong("order_id"),
+            rs.getLong("member_id"),
+            rs.getTimestamp("order_date").toLocalDateTime(),
+            OrderStatus.valueOf(rs.getString("status")),
+            DeliveryStatus.valueOf(rs.getString("delivery_status")),
+            new Address(rs.getString("city"), rs.getString("street"), rs.getString("zipcode")));
+
+    private static final RowMapper<ShardedOrderItem> ORDER_ITEM_ROW_MAPPER = (rs, rowNum) -> new ShardedOrderItem(
+            rs.getLong("order_id"),
+            rs.getLong("item_id"),
+            rs.getInt("order_price"),
+            rs.getInt("count"));
+
+    private final OrderShards orderShards;
+
+    /**
+     * 주문 저장 -> shard 로컬 트랜잭션 하나로 delivery, orders, order_item 저장
+     */
+    public Long save(Long memberId, Address address, List<ShardedOrderItem> orderItems) {
+        int shard = orderShards.shardOf(memberId);
+
+        return orderShards.inTransaction(shard, jdbc -> {
+            Long deliveryId = jdbc.queryForObject("select next value for delivery_seq", Long.class);
+            jdbc.update("insert into delivery (delivery_id, city, street, zipcode, status) values (?, ?, ?, ?, ?)",
+                    deliveryId,
+                    address != null ? address.getCity() : null,
+                    address != null ? address.getStreet() : null,
+                    address != null ? address.getZipcode() : null,
+                    DeliveryStatus.READY.name());
+
+            long orderId = orderShards.toOrderId(shard, jdbc.queryForObject("select next value for order_seq", Long.class));
+            jdbc.update("insert into orders (order_id, member_id, delivery_id, order_date, status) values (?, ?, ?, ?, ?)",
+                    orderId, memberId, deliveryId, Timestamp.valueOf(LocalDateTime.now()), OrderStatus.ORDER.name());
+
+            jdbc.batchUpdate("insert into order_item (order_item_id, order_id, item_id, order_price, count) " +
+                            "values (next value for order_item_seq, ?, ?, ?, ?)",
+                    orderItems, orderItems.size(), (ps, orderItem) -> {
+                        ps.setLong(1, orderId);
+                        ps.setLong(2, orderItem.getItemId());
+                        ps.setInt(3, orderItem.getOrderPrice());
+                        ps.setInt(4, orderItem.getCount());
+                    });
+
+            return orderId;
+        });
+    }
+
+    //주문 id 에 shard 번호가 담겨 있으므로 shard 하나만 조회
+    public ShardedOrder findOne(Long orderId) {
+        JdbcTemplate jdbc = orderShards.jdbc(orderShards.shardOfOrder(orderId));
+        List<ShardedOrder> orders = jdbc.query(ORDER_SELECT + "where o.order_id = ?", ORDER_ROW_MAPPER, orderId);
+
+        if (orders.isEmpty()) {
+            return null;
+        }
+
+        ShardedOrder order = orders.get(0);
+        order.getOrderItems().addAll(findOrderItemMap(jdbc, List.of(orderId)).getOrDefault(orderId, List.of()));
+
+        return order;
+    }
+
+    /**
+     * ORDER -> CANCEL (이미 취소된 주문은 변경 x) -> 변경했으면 true
+     * 같은 주문을 동시에 취소해도 한 요청만 true 를 받는다. (shard 트랜잭션 안에서 호출하면 커밋까지 row 잠금)
+     */
+    public boolean cancel(Long orderId) {
+        return orderShards.jdbc(orderShards.shardOfOrder(orderId))
+                .update("update orders set status = ? where order_id = ? and status = ?",
+                        OrderStatus.CANCEL.name(), orderId, OrderStatus.ORDER.name()) == 1;
+    }
+
+    /**
+     * 회원 전체 주문 (order + delivery) -> 최신순 페이징
+     * shard 마다 상위 (offset + limit) 건을 조회한 뒤 병합하면 전체 순서의 [offset, offset + limit) 구간이 정확히 나온다.
+     */
+    public List<ShardedOrder> findAllWithDelivery(int offset, int limit) {
+        List<List<ShardedOrder>> perShard = orderShards.scatter(jdbc -> jdbc.query(
+                ORDER_SELECT + "order by o.order_date desc, o.order_id desc limit ?", ORDER_ROW_MAPPER, offset + limit));
+
+        return ShardMerge.merge(perShard, ShardedOrder.LATEST_FIRST, offset, limit);
+    }
+
+    /**
+     * 회원 전체 주문 + 주문상품 -> 주문 단위로 페이징한 뒤 선택된 주문의 order_item 만 shard 별로 in 조회
+     */
+    public List<ShardedOrder> findAllWithOrderItems(int offset, int limit) {
+        List<ShardedOrder> orders = findAllWithDelivery(offset, limit);
+
+        Map<Integer, List<Long>> orderIdsByShard = orders.stream()
+                .collect(Collectors.groupingBy(o -> orderShards.shardOfOrder(o.getOrderId()),
+                        Collectors.mapping(ShardedOrder::getOrderId, Collectors.toList())));
+
+        Map<Long, List<ShardedOrderItem>> orderItemMap = new LinkedHashMap<>();
+        orderIdsByShard.forEach((shard, orderIds) -> orderItemMap.putAll(findOrderItemMap(orderShards.jdbc(shard), orderIds)));
+
+        orders.forEach(o -> o.getOrderItems().addAll(orderItemMap.getOrDefault(o.getOrderId(), List.of())));
+
+        return orders;
+    }
+
+    private Map<Long, List<ShardedOrderItem>> findOrderItemMap(JdbcTemplate jdbc, List<Long> orderIds) {
+        List<ShardedOrderItem> orderItems = new NamedParameterJdbcTemplate(jdbc).query(
+                "select order_id, item_id, order_price, count from order_item where order_id in (:orderIds) order by order_item_id",
+                Map.of("orderIds", orderIds), ORDER_ITEM_ROW_MAPPER);
+
+        return orderItems.stream()
+                .collect(Collectors.groupingBy(ShardedOrderItem::getOrderId, LinkedHashMap::new, Collectors.toList()));
+    }
+}
@@ -0,0 +1,147 @@
+package jpabook.jpashop.shard;
+
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.ItemNotFoundException;
+import jpabook.jpashop.exception.MemberNotFoundException;
+import jpabook.jpashop.exception.OrderNotFoundException;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.order.query.OrderFlatDto;
+import jpabook.jpashop.repository.order.simpleQuery.OrderSimpleQueryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 shard 서비스
+ * 회원, 상품 (재고) 은 primary DB 의 JPA 트랜잭션에서, 주문은 member_id 로 결정된 shard 트랜잭션에서 처리한다.
+ * 두 DB 를 묶는 분산 트랜잭션(2PC)은 사용하지 않는다. -> shard 저장이 실패하면 예외로 primary (재고) 트랜잭션도 롤백된다.
+ * (취소는 반대로 primary 를 먼저 커밋한다.)
+ */
+@Service
+@ConditionalOnProperty(name = "jpashop.shard.enabled", havingValue = "true")
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ShardedOrderService {
+
+    private final ShardedOrderRepository shardedOrderRepository;
+    private final MemberRepository memberRepository;
+    private final ItemRepository itemRepository;
+    private final OrderShards orderShards;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager em;
+
+    /**
+     * 주문
+     */
+    @Transactional
+    public Long order(Long memberId, Long itemId, int count) {
+        Member member = memberRepository.findOne(memberId);
+        if (member == null) {
+            throw new MemberNotFoundException("회원이 존재하지 않습니다. memberId=" + memberId);
+        }
+
+        Item item = itemRepository.findOne(itemId);
+        if (item == null) {
+            throw new ItemNotFoundException("상품이 존재하지 않습니다. itemId=" + itemId);
+        }
+
+        item.removeStockQuantity(count); //재고는 primary 에서 관리 (변경 감지)
+        em.flush(); //재고 update (row 잠금) 를 shard 저장 전에 -> 재고 충돌이면 shard 에 주문이 남지 않는다.
+
+        return shardedOrderRepository.save(memberId, member.getAddress(),
+                List.of(new ShardedOrderItem(null, itemId, item.getPrice(), count)));
+    }
+
+    /**
+     * 주문 취소
+     * shard 트랜잭션에서 주문 상태를 먼저 바꾸고 (row 잠금) -> primary 트랜잭션에서 재고 원복, 커밋 -> shard 커밋
+     * primary 가 실패하면 shard 도 롤백되므로 재고 원복 없이 취소되는 경우가 없고, 취소된 주문은 다시 원복하지 않는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) //primary, shard 트랜잭션 순서를 직접 관리
+    public void cancelOrder(Long orderId) {
+        ShardedOrder order = shardedOrderRepository.findOne(orderId);
+
+        if (order == null) {
+            throw new OrderNotFoundException("주문이 존재하지 않습니다. orderId=" + orderId);
+        }
+
+        if (order.getDeliveryStatus() == DeliveryStatus.COMP) {
+            throw new IllegalStateException("이미 배송 완료된 상품은 취소가 불가능합니다.");
+        }
+
+        orderShards.inTransaction(orderShards.shardOfOrder(orderId), jdbc -> {
+            if (!shardedOrderRepository.cancel(orderId)) {
+                throw new IllegalStateException("이미 취소된 주문입니다. orderId=" + orderId);
+            }
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                for (ShardedOrderItem orderItem : order.getOrderItems()) {
+                    itemRepository.findOne(orderItem.getItemId()).addStockQuantity(orderItem.getCount()); //재고 원복
+                }
+            });
+
+            return null;
+        });
+    }
+
+    public ShardedOrder findOne(Long orderId) {
+        return shardedOrderRepository.findOne(orderId);
+    }
+
+    /**
+     * scatter-gather : order, delivery (shard) + member 이름 (primary, in 조회 1번)
+     */
+    public List<OrderSimpleQueryDto> findAllWithMemberDelivery(int offset, int limit) {
+        List<ShardedOrder> orders = shardedOrderRepository.findAllWithDelivery(offset, limit);
+        Map<Long, String> memberNames = memberRepository.findNamesByIds(memberIds(orders));
+
+        return orders.stream()
+                .map(o -> new OrderSimpleQueryDto(o.getOrderId(), memberNames.get(o.getMemberId()), o.getOrderDate(),
+                        o.getStatus(), o.getAddress()))
+                .toList();
+    }
+
+    /**
+     * scatter-gather : order, delivery, orderItems (shard) + member, item 이름 (primary, 각각 in 조회 1번)
+     * 페이징 단위는 주문 (주문상품 row 가 아님)
+     */
+    public List<OrderFlatDto> findAllByDto_flat(int offset, int limit) {
+        List<ShardedOrder> orders = shardedOrderRepository.findAllWithOrderItems(offset, limit);
+        Map<Long, String> memberNames = memberRepository.findNamesByIds(memberIds(orders));
+        Map<Long, String> itemNames = itemRepository.findNamesByIds(orders.stream()
+                .flatMap(o -> o.getOrderItems().stream())
+                .map(ShardedOrderItem::getItemId)
+                .collect(Collectors.toSet()));
+
+        List<OrderFlatDto> result = new ArrayList<>();
+
+        for (ShardedOrder o : orders) {
+            for (ShardedOrderItem oi : o.getOrderItems()) {
+                result.add(new OrderFlatDto(o.getOrderId(), memberNames.get(o.getMemberId()), o.getOrderDate(),
+                        o.getStatus(), o.getAddress(), itemNames.get(oi.getItemId()), oi.getOrderPrice(), oi.getCount()));
+            }
+        }
+
+        return result;
+    }
+
+    private Set<Long> memberIds(List<ShardedOrder> orders) {
+        return orders.stream()
+                .map(ShardedOrder::getMemberId)
+                .collect(Collectors.toSet());
+    }
+}
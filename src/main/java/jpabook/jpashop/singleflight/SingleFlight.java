@@ -0,0 +1,112 @@
+package jpabook.jpashop.singleflight;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 조회가 동시에 들어오면 한 번만 실행하고 결과를 나눠 받는다. (single-flight)
+ * 대시보드 새로고침처럼 같은 요청이 몰릴 때 DB 쿼리를 1번으로 줄인다.
+ *
+ * 1. 실행 중인 같은 키가 없으면 직접 실행 (끝나면 바로 제거 -> 결과를 캐시하지 않는다)
+ * 2. 있으면 그 실행이 끝나기를 기다렸다가 같은 결과 (또는 같은 예외) 를 받는다.
+ * 뒤에 합류한 호출은 실행이 시작된 시점의 데이터를 받는다. -> 읽기 전용 조회에만 사용, 결과 객체는 수정하지 않는다.
+ */
+@Component
+public class SingleFlight {
+
+    private final boolean enabled;
+    private final Map<String, Flight<?>> flights = new ConcurrentHashMap<>();
+    private final Map<String, KeyStats> stats = new ConcurrentHashMap<>();
+
+    public SingleFlight(@Value("${jpashop.single-flight.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> query) {
+        if (!enabled) {
+            return query.get();
+        }
+
+        KeyStats keyStats = stats.computeIfAbsent(key, k -> new KeyStats());
+        Flight<T> flight = new Flight<>();
+        Flight<?> running = flights.putIfAbsent(key, flight);
+
+        if (running != null) {
+            keyStats.shared.increment();
+            keyStats.callers(running.callers.incrementAndGet());
+            return (T) running.await();
+        }
+
+        keyStats.callers(1);
+        long start = System.nanoTime();
+        try {
+            T result = query.get();
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+            keyStats.executions.increment();
+            keyStats.executionNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public Map<String, SingleFlightStats> snapshot() {
+        Map<String, SingleFlightStats> snapshot = new TreeMap<>();
+
+        stats.forEach((key, s) -> {
+            long executions = s.executions.sum();
+            Flight<?> running = flights.get(key);
+
+            snapshot.put(key, new SingleFlightStats(key, executions, s.shared.sum(), s.maxCallers.get(),
+                    running == null ? 0 : running.callers.get(),
+                    executions == 0 ? 0 : s.executionNanos.sum() / 1_000_000.0 / executions));
+        });
+
+        return snapshot;
+    }
+
+    private static class Flight<T> {
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicInteger callers = new AtomicInteger(1);
+
+        T await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static class KeyStats {
+
+        final LongAdder executions = new LongAdder();
+        final LongAdder shared = new LongAdder();
+        final LongAdder executionNanos = new LongAdder();
+        final AtomicInteger maxCallers = new AtomicInteger();
+
+        void callers(int callers) {
+            maxCallers.accumulateAndGet(callers, Math::max);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package jpabook.jpashop.singleflight;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/singleflight -> 키별 실행 수, 공유 수, 최대 동시 호출 수
+ */
+@Component
+@Endpoint(id = "singleflight")
+@RequiredArgsConstructor
+public class SingleFlightEndpoint {
+
+    private final SingleFlight singleFlight;
+
+    @ReadOperation
+    public Map<String, SingleFlightStats> keys() {
+        return singleFlight.snapshot();
+    }
+}
@@ -0,0 +1,10 @@
+package jpabook.jpashop.singleflight;
+
+/**
+ * 키별 single-flight 현황
+ * executions: 실제 실행 수, shared: 다른 호출의 실행 결과를 함께 받은 호출 수
+ * maxCallers: 실행 한 번에 함께 묶인 최대 호출 수 (실행한 호출 포함), inFlight: 지금 실행 중이면 묶여 있는 호출 수
+ */
+public record SingleFlightStats(String key, long executions, long shared, int maxCallers, int inFlight,
+                                double avgExecutionMillis) {
+}
@@ -0,0 +1,48 @@
+package jpabook.jpashop.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 시작 시간 기록 (JVM 시작 기준)
+ * started : 컨텍스트 초기화 + 웹 서버 시작 (요청을 받을 수 있는 시점), ready : ready 리스너 (시드, 캐시 적재) 까지
+ *
+ * jpashop.startup.exit-on-ready=true -> ready 직후 종료 (CDS 아카이브 생성, StartupBenchmark)
+ */
+@Slf4j
+@Component
+public class StartupTimeReporter {
+
+    @Value("${jpashop.startup.exit-on-ready:false}")
+    private boolean exitOnReady;
+
+    private long startedMillis;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void started() {
+        startedMillis = uptime();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE) //가능한 마지막 ready 리스너로 (InitDb 등 순서가 지정된 리스너 다음)
+    public void ready(ApplicationReadyEvent event) {
+        log.info("startup: started={}ms ready={}ms", startedMillis, uptime()); //StartupBenchmark 가 이 형식을 읽는다.
+
+        if (exitOnReady) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    private static long uptime() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
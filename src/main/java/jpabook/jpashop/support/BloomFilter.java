@@ -0,0 +1,91 @@
+package jpabook.jpashop.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 Bloom filter
+ * mightContain == false -> 확실히 없음, true -> 있을 수도 있음 (오탐 확률 fpp)
+ * 비트 설정은 CAS 라서 add, mightContain 을 여러 스레드에서 락 없이 호출할 수 있다.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+
+    private BloomFilter(long bitSize, int hashCount) {
+        this.words = new AtomicLongArray((int) ((bitSize + 63) / 64));
+        this.bitSize = bitSize;
+        this.hashCount = hashCount;
+    }
+
+    //m = -n ln(p) / (ln 2)^2, k = m / n * ln 2
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        long n = Math.max(expectedInsertions, 1);
+        long bitSize = Math.max(64, (long) (-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+
+        return new BloomFilter(bitSize, hashCount);
+    }
+
+    public void add(String value) {
+        long[] hash = hash(value);
+
+        for (int i = 0; i < hashCount; i++) {
+            set(index(hash, i));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long[] hash = hash(value);
+
+        for (int i = 0; i < hashCount; i++) {
+            long index = index(hash, i);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    //double hashing : h1 + i * h2
+    private long index(long[] hash, int i) {
+        return Math.floorMod(hash[0] + i * hash[1], bitSize);
+    }
+
+    private void set(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+    }
+
+    private static long[] hash(String value) {
+        long h1 = 0x9E3779B97F4A7C15L;
+        long h2 = 0xC2B2AE3D27D4EB4FL;
+
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h1 = (h1 ^ b) * 0x100000001B3L;
+            h2 = Long.rotateLeft(h2 ^ b, 31) * 0x87C37B91114253D5L;
+        }
+
+        return new long[]{fmix(h1), fmix(h2) | 1}; //h2 는 홀수 -> 모든 i 에서 다른 위치
+    }
+
+    private static long fmix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
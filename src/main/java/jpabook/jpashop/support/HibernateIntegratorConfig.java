@@ -0,0 +1,26 @@
+package jpabook.jpashop.support;
+
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * hibernate.integrator_provider 는 하나만 지정할 수 있다. -> Integrator 빈 (batch fetch, 도메인 이벤트) 을 모아서 등록
+ */
+@Configuration
+public class HibernateIntegratorConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer integratorCustomizer(ObjectProvider<Integrator> integrators) {
+        List<Integrator> all = integrators.orderedStream().toList();
+        IntegratorProvider provider = () -> all;
+
+        return hibernateProperties -> hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, provider);
+    }
+}
@@ -0,0 +1,110 @@
+package jpabook.jpashop.support;
+
+/**
+ * long -> String 불변 맵 (open addressing, 박싱 x)
+ * 변경은 배열을 복사한 새 맵을 반환한다. -> 읽기는 락 없이, 변경이 드문 곳 (상품명 등) 에 사용
+ * 빈 칸은 values[i] == null 로 구분하므로 null 값은 넣을 수 없다.
+ */
+public final class LongStringMap {
+
+    private static final LongStringMap EMPTY = new LongStringMap(new long[16], new String[16], 0);
+
+    private final long[] keys;
+    private final String[] values;
+    private final int size;
+
+    private LongStringMap(long[] keys, String[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    public static LongStringMap empty() {
+        return EMPTY;
+    }
+
+    public static LongStringMap of(long[] keys, String[] values) {
+        return EMPTY.withAll(keys, values, true);
+    }
+
+    public String get(long key) {
+        int mask = keys.length - 1;
+
+        for (int i = index(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public LongStringMap with(long key, String value) {
+        return withAll(new long[]{key}, new String[]{value}, true);
+    }
+
+    /**
+     * overwrite == false -> 이미 있는 키는 그대로 둔다.
+     */
+    public LongStringMap withAll(long[] newKeys, String[] newValues, boolean overwrite) {
+        if (newKeys.length != newValues.length) {
+            throw new IllegalArgumentException("키와 값의 개수가 다릅니다.");
+        }
+
+        int capacity = keys.length;
+        while ((size + newKeys.length) * 2 > capacity) { //load factor 0.5 이하
+            capacity <<= 1;
+        }
+
+        long[] copyKeys = new long[capacity];
+        String[] copyValues = new String[capacity];
+        int copySize = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                copySize += put(copyKeys, copyValues, keys[i], values[i], true);
+            }
+        }
+        for (int i = 0; i < newKeys.length; i++) {
+            if (newValues[i] == null) {
+                throw new IllegalArgumentException("null 값은 넣을 수 없습니다: " + newKeys[i]);
+            }
+            copySize += put(copyKeys, copyValues, newKeys[i], newValues[i], overwrite);
+        }
+
+        return new LongStringMap(copyKeys, copyValues, copySize);
+    }
+
+    //새 키면 1
+    private static int put(long[] keys, String[] values, long key, String value, boolean overwrite) {
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                if (overwrite) {
+                    values[i] = value;
+                }
+                return 0;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = key;
+        values[i] = value;
+        return 1;
+    }
+
+    private static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L; //fibonacci hashing -> 연속된 id 도 고르게
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,250 @@
+package jpabook.jpashop.warmup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.service.query.OrderQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 워밍업 -> 시작 직후 첫 요청들이 느린 이유 (JIT 컴파일 전, JPQL 파싱 / query plan 캐시 비어 있음) 를 ready 전에 미리 해소
+ *
+ * ApplicationReadyEvent 리스너 안에서 동기로 실행 -> 스프링 부트는 ready 리스너가 모두 끝난 뒤 readiness 를 ACCEPTING_TRAFFIC 으로 바꾸므로
+ * 워밍업이 끝나기 전에는 /actuator/health/readiness 가 트래픽을 받지 않는다. (OUT_OF_SERVICE)
+ *
+ * 1. 주문 생성, 취소 -> 롤백되는 트랜잭션 안에서 (데이터, 재고, 아웃박스, 이벤트 모두 남지 않는다.)
+ * 2. 주문 목록, 컬렉션 페이징 조회 (서비스 직접 호출)
+ * 3. 대표 엔드포인트 GET -> 로컬 포트로 (톰캣, 잭슨, 타임리프까지)
+ * budget 안에서 대상들을 번갈아 iterations 번까지 호출하고, 첫 호출과 마지막 호출들의 지연을 비교해서 남긴다.
+ * 랭킹, 상품명 사전 등 ready 시점에 전체를 읽는 로더가 끝난 뒤 실행 -> 워밍업 호출이 빈 캐시를 보지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApplicationWarmup {
+
+    private static final int WARM_SAMPLES = 10; //warm = 마지막 10번 호출의 중앙값
+
+    private final WarmupProperties properties;
+    private final OrderService orderService;
+    private final OrderQueryService orderQueryService;
+    private final MemberService memberService;
+    private final ItemService itemService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private volatile List<WarmupResult> results = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1) //ready 시점 로더 (랭킹, 상품명 사전, 회원명 필터, 보관 경계, 매출 집계) 다음, StartupTimeReporter 전
+    public void warmup(ApplicationReadyEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        List<Target> targets = targets(event.getApplicationContext());
+        long deadline = System.nanoTime() + properties.getBudget().toNanos();
+        ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "warmup-" + threadCount.getAndIncrement());
+            thread.setDaemon(true); //시간 초과로 남은 호출이 종료를 막지 않도록
+            return thread;
+        });
+
+        try {
+            for (int i = 0; i < properties.getIterations() && System.nanoTime() < deadline; i++) {
+                for (Target target : targets) {
+                    if (System.nanoTime() >= deadline) {
+                        break;
+                    }
+                    target.call(executor, deadline);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        results = targets.stream()
+                .filter(target -> target.calls > 0)
+                .map(Target::result)
+                .toList();
+        results.forEach(this::report);
+    }
+
+    public List<WarmupResult> getResults() {
+        return results;
+    }
+
+    private List<Target> targets(ApplicationContext context) {
+        List<Target> targets = new ArrayList<>();
+
+        if (properties.isOrders()) {
+            orderTarget().ifPresent(targets::add);
+        }
+
+        OrderSearch orderSearch = new OrderSearch();
+        targets.add(new Target("orderList", () -> orderQueryService.findOrderList(orderSearch, 0, 20)));
+        targets.add(new Target("ordersWithItems", () -> orderQueryService.findOrdersWithItems(0, 20)));
+
+        if (context instanceof WebServerApplicationContext web && web.getWebServer().getPort() > 0) {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+            String base = "http://localhost:" + web.getWebServer().getPort();
+
+            for (String endpoint : properties.getEndpoints()) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + endpoint))
+                        .timeout(properties.getCallTimeout())
+                        .GET().build();
+                targets.add(new Target("GET " + endpoint, () -> get(client, request)));
+            }
+        }
+
+        return targets;
+    }
+
+    /**
+     * 주문 + 취소 -> 바깥 트랜잭션을 rollback-only 로 두고 OrderService 트랜잭션이 참여하게 한다.
+     */
+    private Optional<Target> orderTarget() {
+        Optional<Member> member = memberService.findMembers(null, 1).stream().findFirst();
+        Optional<Item> item = itemService.findItems(null, 20).stream().filter(i -> i.getStockQuantity() > 0).findFirst();
+
+        if (member.isEmpty() || item.isEmpty()) {
+            log.info("warmup: 주문할 회원, 상품이 없어 주문 워밍업을 생략합니다.");
+            return Optional.empty();
+        }
+
+        Long memberId = member.get().getId();
+        Long itemId = item.get().getId();
+        TransactionTemplate scratch = new TransactionTemplate(transactionManager);
+
+        return Optional.of(new Target("order+cancel (rollback)", () -> scratch.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            try {
+                orderService.cancelOrder(orderService.order(memberId, itemId, 1));
+            } catch (NotEnoughStockException e) {
+                //다른 요청이 재고를 모두 사용 -> 이번 호출만 건너뛴다.
+            }
+        })));
+    }
+
+    private static void get(HttpClient client, HttpRequest request) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException(request.uri() + " -> " + response.statusCode());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(request.uri() + " 호출에 실패했습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(request.uri() + " 호출이 중단되었습니다.", e);
+        }
+    }
+
+    private void report(WarmupResult result) {
+        log.info("warmup: {} calls={} first={}ms warm={}ms (x{})", result.target(), result.calls(),
+                String.format("%.2f", result.firstMillis()), String.format("%.2f", result.warmMillis()),
+                String.format("%.1f", result.speedup()));
+
+        Gauge.builder("jpashop.warmup.first", result, WarmupResult::firstMillis)
+                .description("latency of the first warm-up call")
+                .baseUnit("milliseconds")
+                .tag("target", result.target())
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder("jpashop.warmup.warm", result, WarmupResult::warmMillis)
+                .description("median latency of the last warm-up calls")
+                .baseUnit("milliseconds")
+                .tag("target", result.target())
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 워밍업 대상 -> 실패하면 경고만 남기고 이후 호출은 건너뛴다. (워밍업 때문에 시작이 실패하면 안 된다.)
+     * 호출마다 callTimeout 과 남은 budget 중 짧은 시간만 기다린다. -> 느린 대상 하나가 readiness 를 budget 이상 늦추지 않는다.
+     */
+    private class Target {
+
+        final String name;
+        final Runnable call;
+        final long[] nanos = new long[Math.max(properties.getIterations(), 1)];
+        int calls;
+        boolean failed;
+
+        Target(String name, Runnable call) {
+            this.name = name;
+            this.call = call;
+        }
+
+        void call(ExecutorService executor, long deadline) {
+            if (failed || calls == nanos.length) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            long timeout = Math.min(properties.getCallTimeout().toNanos(), deadline - start);
+            Future<?> future = executor.submit(call);
+            try {
+                future.get(timeout, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                failed = true;
+                log.warn("warmup: {} 시간 초과 ({}ms) -> 이후 호출 생략", name, TimeUnit.NANOSECONDS.toMillis(timeout));
+                return;
+            } catch (ExecutionException e) {
+                failed = true;
+                log.warn("warmup: {} 실패 -> 이후 호출 생략 ({})", name, e.getCause().getMessage());
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                failed = true;
+                return;
+            }
+
+            nanos[calls++] = System.nanoTime() - start;
+        }
+
+        WarmupResult result() {
+            long[] warm = Arrays.copyOfRange(nanos, Math.max(0, calls - WARM_SAMPLES), calls);
+            Arrays.sort(warm);
+
+            return new WarmupResult(name, calls, nanos[0] / 1_000_000.0, warm[warm.length / 2] / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package jpabook.jpashop.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter @Setter
+@ConfigurationProperties("jpashop.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+    private Duration budget = Duration.ofSeconds(10); //워밍업 전체 시간 (readiness 가 이만큼 늦어질 수 있다.)
+    private int iterations = 200; //대상별 최대 호출 수
+    private boolean orders = true; //롤백되는 트랜잭션에서 주문, 취소 실행
+    private Duration callTimeout = Duration.ofSeconds(2); //호출 1번의 최대 시간 -> 넘으면 그 대상은 이후 호출 생략
+    private List<String> endpoints = List.of( //로컬 포트로 호출 (GET) -> 페이징 또는 건수 제한이 있는 조회만 (전체 조회는 데이터가 많으면 budget 을 혼자 쓴다.)
+            "/api/v3.1/orders?limit=20",
+            "/orders?size=20",
+            "/api/items/best-sellers?top=20",
+            "/api/v3/members?size=20",
+            "/api/v1/items?size=20");
+}
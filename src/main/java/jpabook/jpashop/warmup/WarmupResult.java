@@ -0,0 +1,11 @@
+package jpabook.jpashop.warmup;
+
+/**
+ * 대상별 워밍업 결과 -> first: 첫 호출, warm: 마지막 호출들의 중앙값 (첫 요청에서 줄어든 지연 = first - warm)
+ */
+public record WarmupResult(String target, int calls, double firstMillis, double warmMillis) {
+
+    public double speedup() {
+        return warmMillis > 0 ? firstMillis / warmMillis : 0;
+    }
+}
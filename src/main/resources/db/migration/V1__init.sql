@@ -0,0 +1,124 @@
+-- 초기 스키마 (prod 프로필) -> 엔티티 매핑과 같아야 한다. (FlywayMigrationTest 가 ddl-auto=validate 로 확인)
+
+create sequence hibernate_sequence start with 1 increment by 1;
+create sequence member_seq start with 1 increment by 50;
+
+create table member (
+    member_id bigint not null,
+    city varchar(255),
+    street varchar(255),
+    zipcode varchar(255),
+    name varchar(255),
+    primary key (member_id),
+    constraint uk_member_name unique (name)
+);
+
+create table item (
+    dtype varchar(31) not null,
+    item_id bigint not null,
+    name varchar(255),
+    price integer not null,
+    stock_quantity integer not null,
+    artist varchar(255),
+    etc varchar(255),
+    author varchar(255),
+    isbn varchar(255),
+    actor varchar(255),
+    director varchar(255),
+    primary key (item_id)
+);
+create index idx_item_name on item (name);
+
+create table category (
+    category_id bigint not null,
+    name varchar(255),
+    parent_id bigint,
+    primary key (category_id),
+    constraint fk_category_parent foreign key (parent_id) references category (category_id)
+);
+
+create table category_item (
+    category_id bigint not null,
+    item_id bigint not null,
+    constraint fk_category_item_category foreign key (category_id) references category (category_id),
+    constraint fk_category_item_item foreign key (item_id) references item (item_id)
+);
+
+create table delivery (
+    delivery_id bigint not null,
+    city varchar(255),
+    street varchar(255),
+    zipcode varchar(255),
+    status varchar(255),
+    primary key (delivery_id)
+);
+
+create table orders (
+    order_id bigint not null,
+    order_date timestamp,
+    status varchar(255),
+    delivery_id bigint,
+    member_id bigint,
+    primary key (order_id),
+    constraint fk_orders_delivery foreign key (delivery_id) references delivery (delivery_id),
+    constraint fk_orders_member foreign key (member_id) references member (member_id)
+);
+create index idx_orders_order_date on orders (order_date);
+
+create table order_item (
+    order_item_id bigint not null,
+    count integer not null,
+    order_price integer not null,
+    item_id bigint,
+    order_id bigint,
+    primary key (order_item_id),
+    constraint fk_order_item_item foreign key (item_id) references item (item_id),
+    constraint fk_order_item_orders foreign key (order_id) references orders (order_id)
+);
+
+-- 보관 주문 (OrderArchiveService)
+create table orders_archive (
+    order_id bigint not null,
+    delivery_id bigint,
+    member_id bigint,
+    order_date timestamp,
+    status varchar(255),
+    primary key (order_id)
+);
+create index idx_orders_archive_order_date on orders_archive (order_date);
+
+create table order_item_archive (
+    order_item_id bigint not null,
+    count integer not null,
+    item_id bigint,
+    order_id bigint,
+    order_price integer not null,
+    primary key (order_item_id)
+);
+create index idx_order_item_archive_order_id on order_item_archive (order_id);
+
+create table delivery_archive (
+    delivery_id bigint not null,
+    city varchar(255),
+    street varchar(255),
+    zipcode varchar(255),
+    status varchar(255),
+    primary key (delivery_id)
+);
+
+create table outbox_event (
+    outbox_event_id bigint not null,
+    aggregate_id bigint,
+    aggregate_type varchar(255),
+    created_at timestamp,
+    event_type varchar(255),
+    payload varchar(4000),
+    primary key (outbox_event_id)
+);
+
+create table idempotency_record (
+    idempotency_key varchar(200) not null,
+    created_at timestamp,
+    result_id bigint,
+    primary key (idempotency_key)
+);
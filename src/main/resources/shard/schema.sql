@@ -0,0 +1,35 @@
+-- 주문 shard 스키마 (orders, order_item, delivery 만 shard 에 저장, member, item 은 primary)
+create sequence if not exists order_seq;
+create sequence if not exists order_item_seq;
+create sequence if not exists delivery_seq;
+
+create table if not exists delivery (
+    delivery_id bigint not null primary key,
+    city varchar(255),
+    street varchar(255),
+    zipcode varchar(255),
+    status varchar(255)
+);
+
+create table if not exists orders (
+    order_id bigint not null primary key,
+    member_id bigint not null,
+    delivery_id bigint not null,
+    order_date timestamp not null,
+    status varchar(255) not null,
+    foreign key (delivery_id) references delivery (delivery_id)
+);
+
+create index if not exists idx_orders_order_date on orders (order_date, order_id);
+create index if not exists idx_orders_member_id on orders (member_id);
+
+create table if not exists order_item (
+    order_item_id bigint not null primary key,
+    order_id bigint not null,
+    item_id bigint not null,
+    order_price integer not null,
+    count integer not null,
+    foreign key (order_id) references orders (order_id)
+);
+
+create index if not exists idx_order_item_order_id on order_item (order_id);
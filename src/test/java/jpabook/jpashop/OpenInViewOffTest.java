@@ -0,0 +1,101 @@
+package jpabook.jpashop;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * OSIV off 상태에서 기존 화면, API 가 지연 로딩 예외 없이 동작하는지 확인
+ * 테스트에 @Transactional 을 붙이면 요청 전체가 트랜잭션에 묶여 OSIV 와 같은 효과가 나므로 붙이지 않는다.
+ */
+@SpringBootTest(properties = "spring.jpa.open-in-view=false")
+@AutoConfigureMockMvc
+class OpenInViewOffTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/", "/members/new", "/members", "/items/new", "/items", "/order", "/orders",
+            "/api/v1/members", "/api/v2/members", "/api/v3/members", "/api/v1/members/search?q=user",
+            "/api/v1/items", "/api/v1/items/search?q=JPA",
+            "/api/v1/simple-orders", "/api/v2/simple-orders", "/api/v3/simple-orders", "/api/v4/simple-orders",
+            "/api/v1/orders", "/api/v2/orders", "/api/v3/orders", "/api/v3.1/orders",
+            "/api/v4/orders", "/api/v5/orders", "/api/v5/orders?fields=orderId,orderStatus,totalPrice", "/api/v6/orders"
+    })
+    void 조회_화면_API(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void 상품_수정_화면() throws Exception {
+        Item item = itemService.findItems().get(0);
+
+        mockMvc.perform(get("/items/{itemId}/edit", item.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void 상품_주문_후_주문_내역() throws Exception {
+        Member member = memberService.findMembers().get(0);
+        Item item = itemService.findItems().get(0);
+
+        mockMvc.perform(post("/order")
+                        .param("memberId", String.valueOf(member.getId()))
+                        .param("itemId", String.valueOf(item.getId()))
+                        .param("count", "1"))
+                .andExpect(redirectedUrl("/orders"));
+
+        mockMvc.perform(get("/orders"))
+                .andExpect(status().isOk());
+    }
+
+    //Album.etc (지연 로딩 basic 속성) 가 있는 주문을 엔티티 그대로 직렬화
+    @Test
+    void 앨범_주문_엔티티_직렬화() throws Exception {
+        Member member = memberService.findMembers().get(0);
+
+        Album album = new Album();
+        album.setName("osiv-album");
+        album.setArtist("osiv-artist");
+        album.setEtc("liner notes");
+        album.setPrice(20000);
+        album.setStockQuantity(10);
+        itemService.saveItem(album);
+
+        mockMvc.perform(post("/order")
+                        .param("memberId", String.valueOf(member.getId()))
+                        .param("itemId", String.valueOf(album.getId()))
+                        .param("count", "1"))
+                .andExpect(redirectedUrl("/orders"));
+
+        mockMvc.perform(get("/api/v1/orders"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("osiv-artist")))
+                .andExpect(content().string(not(containsString("liner notes"))));
+
+        mockMvc.perform(get("/api/v1/simple-orders"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("osiv-artist")));
+    }
+}
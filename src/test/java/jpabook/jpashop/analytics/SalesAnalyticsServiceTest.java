@@ -0,0 +1,72 @@
+package jpabook.jpashop.analytics;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 주문, 취소가 커밋된 뒤 refresh 로 반영되는지 확인 (@Transactional x)
+ */
+@SpringBootTest
+class SalesAnalyticsServiceTest {
+
+    @Autowired SalesAnalyticsService salesAnalyticsService;
+    @Autowired SalesColumnStore salesColumnStore;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired OrderService orderService;
+
+    @Test
+    public void 주문_취소_증분_반영() throws Exception {
+        //given
+        String city = "analytics-" + System.nanoTime();
+        Member member = new Member();
+        member.setName(city);
+        member.setAddress(new Address(city, "street", "00000"));
+        memberService.join(member);
+
+        Book book = new Book();
+        book.setName("analytics-book");
+        book.setPrice(15000);
+        book.addStockQuantity(100);
+        itemService.saveItem(book);
+
+        //when
+        Long orderId = orderService.order(member.getId(), book.getId(), 3);
+        salesColumnStore.refresh();
+
+        //then
+        SalesRow byCity = findCity(city).orElseThrow();
+        assertEquals(45000, byCity.getRevenue());
+        assertEquals(3, byCity.getUnits());
+
+        List<SalesRow> byItem = salesAnalyticsService.findSales(SalesGroupBy.ITEM, null, null, false, 0);
+        SalesRow itemRow = byItem.stream().filter(r -> r.getId().equals(book.getId())).findFirst().orElseThrow();
+        assertEquals("analytics-book", itemRow.getName());
+        assertEquals(45000, itemRow.getRevenue());
+
+        //when
+        orderService.cancelOrder(orderId);
+        salesColumnStore.refresh();
+
+        //then
+        assertTrue(findCity(city).isEmpty(), "취소된 주문은 집계에서 제외");
+    }
+
+    private Optional<SalesRow> findCity(String city) {
+        return salesAnalyticsService.findSales(SalesGroupBy.CITY, null, null, false, 0).stream()
+                .filter(r -> city.equals(r.getName()))
+                .findFirst();
+    }
+}
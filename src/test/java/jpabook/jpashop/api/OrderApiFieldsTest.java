@@ -0,0 +1,73 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.repository.order.query.OrderField;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /api/v5/orders?fields= -> 요청한 필드만 반환
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderApiFieldsTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired OrderQueryRepository orderQueryRepository;
+
+    @Test
+    void 요청한_필드만_반환() throws Exception {
+        mockMvc.perform(get("/api/v5/orders").param("fields", "orderId,orderStatus,totalPrice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderId").exists())
+                .andExpect(jsonPath("$[0].orderStatus").exists())
+                .andExpect(jsonPath("$[0].totalPrice").exists())
+                .andExpect(jsonPath("$[0].name").doesNotExist())
+                .andExpect(jsonPath("$[0].address").doesNotExist())
+                .andExpect(jsonPath("$[0].orderItems").doesNotExist());
+    }
+
+    @Test
+    void fields_가_없으면_전체() throws Exception {
+        mockMvc.perform(get("/api/v5/orders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").exists())
+                .andExpect(jsonPath("$[0].address").exists())
+                .andExpect(jsonPath("$[0].orderItems").isArray());
+    }
+
+    @Test
+    void 알_수_없는_필드() throws Exception {
+        mockMvc.perform(get("/api/v5/orders").param("fields", "orderId,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void 합계는_orderItems_조회_여부와_무관() throws Exception {
+        //when
+        List<Map<String, Object>> withItems = orderQueryRepository.findOrderFields(
+                Set.of(OrderField.ORDER_ID, OrderField.ORDER_ITEMS, OrderField.TOTAL_PRICE));
+        List<Map<String, Object>> totalsOnly = orderQueryRepository.findOrderFields(
+                Set.of(OrderField.ORDER_ID, OrderField.TOTAL_PRICE));
+
+        //then
+        assertThat(totalsOnly).hasSameSizeAs(withItems);
+        for (int i = 0; i < withItems.size(); i++) {
+            assertThat(totalsOnly.get(i).get("orderId")).isEqualTo(withItems.get(i).get("orderId"));
+            assertThat(totalsOnly.get(i).get("totalPrice")).isEqualTo(withItems.get(i).get("totalPrice"));
+            assertThat(totalsOnly.get(i)).doesNotContainKey("orderItems");
+        }
+    }
+}
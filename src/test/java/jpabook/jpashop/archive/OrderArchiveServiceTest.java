@@ -0,0 +1,81 @@
+package jpabook.jpashop.archive;
+
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.exception.OrderNotFoundException;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.order.query.OrderFlatDto;
+import jpabook.jpashop.repository.order.query.OrderListQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class OrderArchiveServiceTest {
+
+    @Autowired OrderArchiveService orderArchiveService;
+    @Autowired OrderQueryRepository orderQueryRepository;
+    @Autowired OrderService orderService;
+    @Autowired EntityManager em;
+
+    @Test
+    public void 오래된_주문_보관() throws Exception {
+        //given
+        long hotOrders = em.createQuery("select count(o) from Order o", Long.class).getSingleResult();
+        Long cancelledId = em.createQuery("select min(o.id) from Order o", Long.class).getSingleResult();
+        orderService.cancelOrder(cancelledId); //종료된 주문 1건, 나머지는 진행 중
+        em.flush();
+
+        List<OrderFlatDto> before = orderQueryRepository.findAllByDto_flat();
+        long cancelledRows = before.stream().filter(f -> f.getOrderId().equals(cancelledId)).count();
+        LocalDateTime cutoff = LocalDateTime.now().plusDays(1);
+
+        //when
+        int archived = orderArchiveService.archiveOlderThan(cutoff);
+
+        //then
+        assertEquals(1, archived, "종료된 주문만 보관");
+        assertEquals(hotOrders - 1, em.createQuery("select count(o) from Order o", Long.class).getSingleResult());
+        assertEquals(1, em.createQuery("select count(o) from ArchivedOrder o", Long.class).getSingleResult());
+        assertEquals(before.size() - cancelledRows, orderQueryRepository.findAllByDto_flat().size(), "범위 없는 조회는 hot 테이블만 조회");
+        assertEquals(before.size(), orderQueryRepository.findAllByDto_flat(null, cutoff).size(), "경계 이전 범위는 archive 포함");
+        assertEquals(0, orderQueryRepository.findAllByDto_flat(cutoff, null).size());
+        assertThrows(OrderNotFoundException.class, () -> orderService.cancelOrder(cancelledId), "보관된 주문은 취소 대상이 아니다");
+    }
+
+    @Test
+    public void 주문_내역은_보관_주문_포함() throws Exception {
+        //given
+        long hotOrders = em.createQuery("select count(o) from Order o", Long.class).getSingleResult();
+        Long cancelledId = em.createQuery("select min(o.id) from Order o", Long.class).getSingleResult();
+        orderService.cancelOrder(cancelledId);
+        em.flush();
+
+        //when
+        orderArchiveService.archiveOlderThan(LocalDateTime.now().plusDays(1));
+        OrderSearch all = new OrderSearch();
+        OrderSearch cancelled = new OrderSearch();
+        cancelled.setOrderStatus(OrderStatus.CANCEL);
+        OrderSearch future = new OrderSearch();
+        future.setOrderDateFrom(LocalDateTime.now().plusDays(2).toLocalDate());
+
+        //then
+        List<OrderListQueryDto> orders = orderQueryRepository.findOrderList(all, 0, 20);
+        assertEquals(hotOrders, orders.size());
+        assertEquals(hotOrders, orderQueryRepository.countOrderList(all));
+        assertTrue(orders.stream().anyMatch(o -> o.getOrderId().equals(cancelledId)), "보관된 주문도 목록에 나타난다");
+        assertEquals(cancelledId, orderQueryRepository.findOrderList(cancelled, 0, 20).get(0).getOrderId());
+        assertEquals(0, orderQueryRepository.countOrderList(future), "경계 이후 범위는 hot 테이블만 조회");
+    }
+}
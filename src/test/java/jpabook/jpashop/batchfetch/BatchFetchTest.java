@@ -0,0 +1,101 @@
+package jpabook.jpashop.batchfetch;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "jpashop.batch-fetch.sizes[Order.orderItems]=3",
+        "jpashop.batch-fetch.adaptive=true",
+        "jpashop.batch-fetch.adaptive-min=1",
+        "jpashop.batch-fetch.adaptive-min-samples=1"
+})
+@Transactional
+class BatchFetchTest {
+
+    //실행마다 새 파일 -> 이전 실행의 권장 크기가 sizes 를 덮어쓰지 않게
+    static final Path ADAPTIVE_FILE = Path.of(System.getProperty("java.io.tmpdir"), "batch-fetch-" + UUID.randomUUID() + ".properties");
+
+    @DynamicPropertySource
+    static void adaptiveFile(DynamicPropertyRegistry registry) {
+        registry.add("jpashop.batch-fetch.adaptive-file", ADAPTIVE_FILE::toString);
+    }
+
+    @Autowired EntityManager em;
+    @Autowired OrderService orderService;
+    @Autowired BatchFetchStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics.reset();
+    }
+
+    @Test
+    void 연관관계별_크기_지연_로딩_관측() throws Exception {
+        //given
+        List<Long> orderIds = createOrders(5);
+        em.flush();
+        em.clear();
+
+        //when
+        List<Order> orders = em.createQuery("select o from Order o where o.id in :ids", Order.class)
+                .setParameter("ids", orderIds)
+                .getResultList();
+        orders.forEach(o -> o.getOrderItems().size()); //5개 -> 3개 + 2개
+
+        //then
+        BatchFetchSnapshot snapshot = statistics.snapshot().get("Order.orderItems");
+        assertThat(snapshot.batchSize()).isEqualTo(3);
+        assertThat(snapshot.initializations()).isEqualTo(2);
+        assertThat(snapshot.pendingMax()).isEqualTo(5);
+        assertThat(snapshot.recommended()).isEqualTo(5);
+    }
+
+    @Test
+    void 권장_크기_저장() throws Exception {
+        //given
+        statistics.record("Order.orderItems", 40);
+
+        //when
+        statistics.save();
+
+        //then
+        assertThat(Files.readAllLines(ADAPTIVE_FILE)).contains("Order.orderItems=40");
+        assertThat(statistics.loadRecommendations()).containsEntry("Order.orderItems", 40);
+    }
+
+    private List<Long> createOrders(int count) {
+        Member member = new Member();
+        member.setName("batch-fetch");
+        member.setAddress(new Address("seoul", "river", "12345"));
+        em.persist(member);
+
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(count);
+        em.persist(book);
+
+        return IntStream.range(0, count)
+                .mapToObj(i -> orderService.order(member.getId(), book.getId(), 1))
+                .toList();
+    }
+}
@@ -0,0 +1,95 @@
+package jpabook.jpashop.datagen;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 대량 데이터 생성 -> 다른 테스트의 데이터와 섞이지 않도록 별도 메모리 DB 사용
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1")
+class DataGeneratorTest {
+
+    @Autowired DataGenerator dataGenerator;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void 생성_수량() throws Exception {
+        //given
+        DataGenProperties spec = spec(4);
+
+        //when
+        DataGenResult result = dataGenerator.generate(spec);
+
+        //then
+        assertEquals(spec.getOrders(), count("orders", "order_id", result.orderBase(), spec.getOrders()));
+        assertEquals(spec.getMembers(), count("member", "member_id", result.memberBase(), spec.getMembers()));
+        assertEquals(spec.getItems(), count("item", "item_id", result.itemBase(), spec.getItems()));
+        assertEquals(result.orderItems(), (long) jdbcTemplate.queryForObject(
+                "select count(*) from order_item where order_id > ? and order_id <= ?", Long.class,
+                result.orderBase(), result.orderBase() + spec.getOrders()));
+    }
+
+    @Test
+    void 같은_seed_면_스레드_수와_관계없이_같은_데이터() throws Exception {
+        //given
+        DataGenProperties parallel = spec(4);
+        DataGenProperties single = spec(1);
+
+        //when
+        List<Long> first = itemHistogram(dataGenerator.generate(parallel), parallel);
+        List<Long> second = itemHistogram(dataGenerator.generate(single), single);
+
+        //then
+        assertEquals(first, second);
+    }
+
+    @Test
+    void 상품_인기도_쏠림() throws Exception {
+        //given
+        DataGenProperties spec = spec(4);
+
+        //when
+        List<Long> histogram = itemHistogram(dataGenerator.generate(spec), spec);
+
+        //then -> Zipf: 1위 상품 주문 수가 평균보다 훨씬 많다.
+        long total = histogram.stream().mapToLong(Long::longValue).sum();
+        assertThat(histogram.get(0)).isGreaterThan(5 * total / spec.getItems());
+    }
+
+    private DataGenProperties spec(int threads) {
+        DataGenProperties spec = new DataGenProperties();
+        spec.setSeed(7);
+        spec.setMembers(500);
+        spec.setItems(90);
+        spec.setCategories(10);
+        spec.setOrders(5_000);
+        spec.setEndDate(LocalDate.of(2024, 1, 1));
+        spec.setThreads(threads);
+        spec.setChunkSize(700);
+        return spec;
+    }
+
+    private long count(String table, String idColumn, long base, int size) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where " + idColumn + " > ? and " + idColumn + " <= ?",
+                Long.class, base, base + size);
+    }
+
+    //상품 순서 (id - base) 별 주문 수량 합
+    private List<Long> itemHistogram(DataGenResult result, DataGenProperties spec) {
+        return jdbcTemplate.queryForList(
+                "select coalesce(sum(oi.count), 0) from item i" +
+                        " left join order_item oi on oi.item_id = i.item_id and oi.order_id > ? and oi.order_id <= ?" +
+                        " where i.item_id > ? and i.item_id <= ?" +
+                        " group by i.item_id order by i.item_id", Long.class,
+                result.orderBase(), result.orderBase() + spec.getOrders(),
+                result.itemBase(), result.itemBase() + spec.getItems());
+    }
+}
@@ -0,0 +1,106 @@
+package jpabook.jpashop.datasource;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.query.OrderQueryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 H2 인스턴스 두개 (primary, replica) 로 라우팅 확인
+ * JPA 트랜잭션 안에서 실행되는 JdbcTemplate 은 엔티티 매니저와 같은 커넥션을 사용한다.
+ * 스키마 생성 (ddl-auto), 시드 데이터는 primary 에만 -> replica 는 테스트에서 직접 복제한다.
+ */
+@SpringBootTest(properties = {
+        "jpashop.datasource.routing.enabled=true",
+        "jpashop.datasource.primary.jdbc-url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "jpashop.datasource.primary.username=sa",
+        "jpashop.datasource.primary.pool-name=primary",
+        "jpashop.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "jpashop.datasource.replica.username=sa",
+        "jpashop.datasource.replica.pool-name=replica",
+        "decorator.datasource.exclude-beans=routingDataSource"
+})
+class RoutingDataSourceTest {
+
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired @Qualifier("primaryDataSource") DataSource primaryDataSource;
+    @Autowired @Qualifier("replicaDataSource") DataSource replicaDataSource;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired OrderQueryService orderQueryService;
+
+    @Test
+    void 읽기전용_트랜잭션은_replica() throws Exception {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String database = readOnly.execute(status -> currentDatabase());
+
+        assertThat(database).isEqualToIgnoringCase("replica");
+    }
+
+    @Test
+    void 쓰기_트랜잭션은_primary() throws Exception {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String database = readWrite.execute(status -> currentDatabase());
+
+        assertThat(database).isEqualToIgnoringCase("primary");
+    }
+
+    @Test
+    void 읽기전용_서비스는_replica_데이터() throws Exception {
+        //given
+        replicate(); //primary 스키마 + 시드 데이터 -> replica (복제)
+        Member member = new Member();
+        member.setName("primary-only");
+        memberService.join(member); //쓰기 -> primary (아직 복제 전)
+
+        //when
+        List<String> names = memberService.findMembers(null, 100).stream().map(Member::getName).toList();
+
+        //then
+        assertThat(names).contains("userA", "userB").doesNotContain("primary-only");
+        assertThat(itemService.findItems(null, 100)).isNotEmpty();
+        assertThat(orderQueryService.findOrderList(new OrderSearch(), 0, 20).getTotalElements()).isEqualTo(2);
+
+        replicate();
+        assertThat(memberService.findMembers(null, 100)).extracting(Member::getName).contains("primary-only");
+    }
+
+    //H2 SCRIPT / RUNSCRIPT 로 primary 전체를 replica 에 복사
+    private void replicate() throws Exception {
+        Path script = Files.createTempFile("replica", ".sql");
+
+        try {
+            String path = script.toAbsolutePath().toString().replace('\\', '/');
+            new JdbcTemplate(primaryDataSource).execute("script to '" + path + "'");
+
+            JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+            replica.execute("drop all objects");
+            replica.execute("runscript from '" + path + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+}
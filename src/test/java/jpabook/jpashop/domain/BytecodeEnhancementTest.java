@@ -0,0 +1,93 @@
+package jpabook.jpashop.domain;
+
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 빌드 시점 바이트코드 향상 (build.gradle 의 hibernate.enhance) 이 적용됐는지 확인
+ */
+@SpringBootTest
+@Transactional
+class BytecodeEnhancementTest {
+
+    @Autowired EntityManager em;
+
+    @Test
+    void 엔티티_dirty_tracking() throws Exception {
+        //given
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        em.persist(book);
+        em.flush();
+        em.clear();
+
+        //when
+        Item item = em.find(Item.class, book.getId());
+        SelfDirtinessTracker tracker = (SelfDirtinessTracker) item;
+        boolean dirtyAfterLoad = tracker.$$_hibernate_hasDirtyAttributes();
+        item.setPrice(12000);
+
+        //then
+        assertThat(new Object[]{new Order(), new OrderItem(), new Member(), item}).allMatch(e -> e instanceof SelfDirtinessTracker);
+        assertThat(dirtyAfterLoad).isFalse();
+        assertThat(Arrays.asList(tracker.$$_hibernate_getDirtyAttributes())).containsExactly("price");
+    }
+
+    @Test
+    void 앨범_etc_지연_로딩() throws Exception {
+        //given
+        Album album = new Album();
+        album.setName("album");
+        album.setArtist("artist");
+        album.setEtc("liner notes");
+        em.persist(album);
+        em.flush();
+        em.clear();
+
+        //when
+        Album found = em.find(Album.class, album.getId());
+        boolean loadedBeforeAccess = Hibernate.isPropertyInitialized(found, "etc");
+
+        //then
+        assertThat(loadedBeforeAccess).isFalse();
+        assertThat(found.getArtist()).isEqualTo("artist");
+        assertThat(found.getEtc()).isEqualTo("liner notes");
+        assertThat(Hibernate.isPropertyInitialized(found, "etc")).isTrue();
+    }
+
+    @Test
+    void 양방향_연관관계_중복_추가_x() throws Exception {
+        //given
+        Member member = new Member();
+        member.setName("enhanced");
+        em.persist(member);
+
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        em.persist(book);
+
+        //when
+        Order order = Order.createOrder(member, new Delivery(), OrderItem.createOrderItem(book, 10000, 1));
+
+        //then
+        assertThat(member.getOrders()).containsExactly(order);
+        assertThat(order.getOrderItems()).hasSize(1);
+        assertThat(order.getDelivery().getOrder()).isSameAs(order);
+    }
+}
@@ -0,0 +1,114 @@
+package jpabook.jpashop.idempotency;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 키 선점, 결과 저장이 커밋되어야 하므로 @Transactional 을 붙이지 않는다.
+ */
+@SpringBootTest
+class IdempotencyServiceTest {
+
+    @Autowired IdempotencyService idempotencyService;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired OrderService orderService;
+
+    @Test
+    public void 같은_키로_재시도() throws Exception {
+        //given
+        Member member = createMember();
+        Book book = createBook(10);
+        String key = UUID.randomUUID().toString();
+
+        //when
+        Long first = idempotencyService.execute("order", key, () -> orderService.order(member.getId(), book.getId(), 1));
+        Long retry = idempotencyService.execute("order", key, () -> orderService.order(member.getId(), book.getId(), 1));
+
+        //then
+        assertEquals(first, retry);
+        assertEquals(9, itemService.findOne(book.getId()).getStockQuantity(), "주문은 한 번만 실행");
+    }
+
+    @Test
+    public void 같은_키로_동시_요청() throws Exception {
+        //given
+        Member member = createMember();
+        Book book = createBook(10);
+        String key = UUID.randomUUID().toString();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.execute("order", key, () -> orderService.order(member.getId(), book.getId(), 1));
+            }));
+        }
+        start.countDown();
+
+        Set<Long> orderIds = ConcurrentHashMap.newKeySet();
+        for (Future<Long> result : results) {
+            orderIds.add(result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        //then
+        assertEquals(1, orderIds.size());
+        assertEquals(9, itemService.findOne(book.getId()).getStockQuantity());
+    }
+
+    @Test
+    public void 실패한_요청은_재시도시_다시_실행() throws Exception {
+        //given
+        Member member = createMember();
+        Book book = createBook(1);
+        String key = UUID.randomUUID().toString();
+
+        //when
+        assertThrows(RuntimeException.class,
+                () -> idempotencyService.execute("order", key, () -> orderService.order(member.getId(), book.getId(), 2)));
+        itemService.updateItem(book.getId(), book.getName(), book.getPrice(), 5);
+        Long orderId = idempotencyService.execute("order", key, () -> orderService.order(member.getId(), book.getId(), 2));
+
+        //then
+        assertNotNull(orderId);
+        assertEquals(3, itemService.findOne(book.getId()).getStockQuantity());
+    }
+
+    private Member createMember() {
+        Member member = new Member();
+        member.setName("idempotency-" + System.nanoTime());
+        member.setAddress(new Address("seoul", "river", "12345"));
+        memberService.join(member);
+
+        return member;
+    }
+
+    private Book createBook(int quantity) {
+        Book book = new Book();
+        book.setName("idempotency-book");
+        book.setPrice(10000);
+        book.setStockQuantity(quantity);
+        itemService.saveItem(book);
+
+        return book;
+    }
+}
@@ -0,0 +1,82 @@
+package jpabook.jpashop.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class JfrEventsTest {
+
+    @Autowired EntityManager em;
+    @Autowired OrderService orderService;
+    @Autowired OrderQueryRepository orderQueryRepository;
+
+    @Test
+    void 주문_조회_재고충돌_이벤트() throws Exception {
+        //given
+        Member member = new Member();
+        member.setName("jfr-" + System.nanoTime());
+        member.setAddress(new Address("seoul", "river", "12345"));
+        em.persist(member);
+
+        Book book = new Book();
+        book.setName("JFR");
+        book.setPrice(10000);
+        book.addStockQuantity(1);
+        em.persist(book);
+
+        Path file = Files.createTempFile("jpashop", ".jfr");
+
+        //when
+        try (Recording recording = new Recording()) {
+            recording.enable("jpashop.OrderPlaced");
+            recording.enable("jpashop.OrderCancelled");
+            recording.enable("jpashop.QueryExecuted");
+            recording.enable("jpashop.SqlExecuted");
+            recording.enable("jpashop.StockConflict");
+            recording.start();
+
+            Long orderId = orderService.order(member.getId(), book.getId(), 1);
+            assertThrows(NotEnoughStockException.class, () -> orderService.order(member.getId(), book.getId(), 1));
+            orderService.cancelOrder(orderId);
+            orderQueryRepository.findAllByDto_optimization();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        //then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).extracting(e -> e.getEventType().getName())
+                .contains("jpashop.OrderPlaced", "jpashop.OrderCancelled", "jpashop.StockConflict",
+                        "jpashop.QueryExecuted", "jpashop.SqlExecuted");
+
+        RecordedEvent conflict = events.stream().filter(e -> e.getEventType().getName().equals("jpashop.StockConflict")).findFirst().get();
+        assertEquals(book.getId(), conflict.getLong("itemId"));
+        assertEquals(0, conflict.getInt("available"));
+
+        assertThat(JfrSummary.summarize(file))
+                .contains("OrderQueryRepository.findAllByDto_optimization", "OrderRepository.findOrderSource", "stock conflicts");
+
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,94 @@
+package jpabook.jpashop.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jpabook.jpashop.service.MemberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 지표는 바깥 트랜잭션 단위로 기록되므로 @Transactional 을 붙이지 않는다.
+ * 같은 컨텍스트의 다른 테스트도 기록하므로 호출 전후 차이로 확인한다.
+ */
+@SpringBootTest
+class TransactionMetricsTest {
+
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired MemberService memberService;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void 트랜잭션별_SQL_row_수() throws Exception {
+        //given
+        long calls = timerCount();
+        double statements = summaryTotal("jpashop.transaction.statements");
+        double rows = summaryTotal("jpashop.transaction.rows");
+
+        //when
+        JdbcActivity.Snapshot start = JdbcActivity.current().snapshot();
+        memberService.findMembers(null, 2); //InitDb 회원 2명 -> select 1번, row 2개
+        JdbcActivity.Snapshot used = JdbcActivity.current().snapshot().since(start);
+
+        //then
+        assertEquals(1, used.statements());
+        assertEquals(2, used.rows());
+        assertEquals(calls + 1, timerCount());
+        assertEquals(statements + 1, summaryTotal("jpashop.transaction.statements"));
+        assertEquals(rows + 2, summaryTotal("jpashop.transaction.rows"));
+    }
+
+    @Test
+    void 참여한_트랜잭션은_측정하지_않음() throws Exception {
+        //given
+        long calls = timerCount();
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+
+        //when
+        outer.executeWithoutResult(status -> {
+            memberService.findMembers(null, 2);
+            memberService.findMembers(null, 2);
+        });
+
+        //then -> 바깥 트랜잭션이 서비스 밖에서 시작됐으므로 기록 x
+        assertEquals(calls, timerCount());
+    }
+
+    @Test
+    void 커넥션_풀_포화도() throws Exception {
+        //given
+        Gauge saturation = meterRegistry.find("jpashop.pool.saturation").gauge();
+        assertNotNull(saturation, "HikariCP 풀마다 등록 (p6spy 로 감싼 DataSource 도 unwrap)");
+
+        //when
+        double inTransaction = new TransactionTemplate(transactionManager).execute(status -> {
+            memberService.findMembers(null, 1); //커넥션 획득
+            return saturation.value();
+        });
+
+        //then
+        assertTrue(inTransaction > 0 && inTransaction <= 1, "active / maximumPoolSize = " + inTransaction);
+    }
+
+    private long timerCount() {
+        Timer timer = meterRegistry.find("jpashop.transaction")
+                .tags("service", "MemberService", "method", "findMembers", "outcome", "success")
+                .timer();
+
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double summaryTotal(String name) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tags("service", "MemberService", "method", "findMembers")
+                .summary();
+
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
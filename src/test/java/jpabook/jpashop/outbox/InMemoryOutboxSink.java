@@ -0,0 +1,23 @@
+package jpabook.jpashop.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 테스트용 sink (OutboxRelayTest 에서만 등록)
+ * 운영 설정으로 쓰면 전달된 이벤트가 메모리에만 쌓였다가 재시작 때 사라진다.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxMessage> messages = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(List<OutboxMessage> messages) {
+        this.messages.addAll(messages);
+    }
+
+    public List<OutboxMessage> getMessages() {
+        return new ArrayList<>(messages);
+    }
+}
@@ -0,0 +1,72 @@
+package jpabook.jpashop.outbox;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 주문 커밋 -> relay -> sink 전달, 아웃박스 삭제 (@Transactional x)
+ * 스케줄된 relay 가 먼저 전달할 수도 있으므로 sink 에 도착한 메시지로 확인한다.
+ */
+@SpringBootTest
+class OutboxRelayTest {
+
+    //메모리 sink 는 이 테스트에서만 등록
+    @TestConfiguration
+    static class InMemorySinkConfig {
+
+        @Bean
+        OutboxSink inMemoryOutboxSink() {
+            return new InMemoryOutboxSink();
+        }
+    }
+
+    @Autowired OutboxRelay outboxRelay;
+    @Autowired OutboxSink outboxSink;
+    @Autowired OutboxRepository outboxRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired OrderService orderService;
+
+    @Test
+    public void 주문_취소_이벤트_전달() throws Exception {
+        //given
+        Member member = new Member();
+        member.setName("outbox-" + System.nanoTime());
+        member.setAddress(new Address("seoul", "river", "12345"));
+        memberService.join(member);
+
+        Book book = new Book();
+        book.setName("outbox-book");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+
+        //when
+        Long orderId = orderService.order(member.getId(), book.getId(), 2);
+        orderService.cancelOrder(orderId);
+        outboxRelay.relay();
+
+        //then
+        List<String> eventTypes = ((InMemoryOutboxSink) outboxSink).getMessages().stream()
+                .filter(m -> m.aggregateId().equals(orderId))
+                .map(OutboxMessage::eventType)
+                .toList();
+        assertEquals(List.of("ORDER_CREATED", "ORDER_CANCELLED"), eventTypes, "커밋 순서대로 전달");
+        assertEquals(0, transactionTemplate.execute(status -> outboxRepository.count()));
+    }
+}
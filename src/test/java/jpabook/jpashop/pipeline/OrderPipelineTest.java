@@ -0,0 +1,75 @@
+package jpabook.jpashop.pipeline;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * writer 스레드가 별도 트랜잭션으로 커밋하므로 @Transactional 을 붙이지 않는다.
+ */
+@SpringBootTest(properties = "jpashop.order-pipeline.enabled=true")
+class OrderPipelineTest {
+
+    @Autowired OrderPipeline orderPipeline;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+
+    @Test
+    public void 비동기_주문_그룹_커밋() throws Exception {
+        //given
+        Member member = new Member();
+        member.setName("pipeline-" + System.nanoTime());
+        member.setAddress(new Address("seoul", "river", "12345"));
+        memberService.join(member);
+
+        Book book = new Book();
+        book.setName("pipeline-book");
+        book.setPrice(10000);
+        book.setStockQuantity(30);
+        itemService.saveItem(book);
+
+        //when
+        List<OrderTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tickets.add(orderPipeline.submit(member.getId(), book.getId(), 1));
+        }
+        OrderTicket tooMany = orderPipeline.submit(member.getId(), book.getId(), 100);
+        await(tickets);
+        await(List.of(tooMany));
+
+        //then
+        tickets.forEach(t -> {
+            assertEquals(OrderTicket.Status.COMPLETED, t.getStatus());
+            assertNotNull(t.getOrderId());
+        });
+        assertEquals(OrderTicket.Status.FAILED, tooMany.getStatus(), "재고 부족 주문만 실패");
+        assertEquals(10, itemService.findOne(book.getId()).getStockQuantity());
+    }
+
+    @Test
+    public void 잘못된_주문은_접수_거부() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> orderPipeline.submit(-1L, -1L, 1));
+        assertThrows(IllegalArgumentException.class, () -> orderPipeline.submit(1L, 1L, 0));
+    }
+
+    private void await(List<OrderTicket> tickets) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+
+        while (tickets.stream().anyMatch(t -> t.getStatus() == OrderTicket.Status.PENDING)) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("주문이 처리되지 않았습니다.");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package jpabook.jpashop.ranking;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 커밋 이후 이벤트로 반영되는지 확인 (@Transactional x)
+ */
+@SpringBootTest
+class ItemRankingsTest {
+
+    @Autowired ItemRankings itemRankings;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired OrderService orderService;
+
+    @Test
+    public void 주문_취소_순위_재고_반영() throws Exception {
+        //given
+        Member member = new Member();
+        member.setName("ranking-" + System.nanoTime());
+        member.setAddress(new Address("seoul", "river", "12345"));
+        memberService.join(member);
+
+        Book book = new Book();
+        book.setName("ranking-book");
+        book.setPrice(10000);
+        book.setStockQuantity(5);
+        itemService.saveItem(book);
+
+        assertEquals(5, findStock(book.getId()).orElseThrow().stockQuantity()); //신규 상품 (persist 이후)
+
+        //when
+        Long orderId = orderService.order(member.getId(), book.getId(), 2);
+
+        //then
+        assertEquals(2, findSales(book.getId()).orElseThrow().units());
+        assertEquals(3, findStock(book.getId()).orElseThrow().stockQuantity());
+
+        //when
+        orderService.cancelOrder(orderId);
+
+        //then
+        assertTrue(findSales(book.getId()).isEmpty());
+        assertEquals(5, findStock(book.getId()).orElseThrow().stockQuantity());
+    }
+
+    private Optional<ItemSales> findSales(Long itemId) {
+        return itemRankings.bestSellers(LocalDate.now(), Integer.MAX_VALUE).stream()
+                .filter(s -> s.itemId() == itemId)
+                .findFirst();
+    }
+
+    private Optional<ItemStock> findStock(Long itemId) {
+        return itemRankings.lowStock(10, Integer.MAX_VALUE).stream()
+                .filter(s -> s.itemId() == itemId)
+                .findFirst();
+    }
+}
@@ -0,0 +1,111 @@
+package jpabook.jpashop.repository.order.query;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 사전은 커밋 이후에 갱신된다. -> 테스트에 @Transactional 을 붙이지 않는다.
+ */
+@SpringBootTest
+class ItemNameDictionaryTest {
+
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired OrderService orderService;
+    @Autowired OrderQueryRepository orderQueryRepository;
+    @Autowired ItemNameDictionary itemNameDictionary;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void 주문_상품명을_사전에서_조회() throws Exception {
+        //given
+        Long itemId = saveBook("사전 JPA");
+        Long orderId = order(itemId);
+
+        //when
+        OrderFlatDto flat = orderQueryRepository.findAllByDto_flat().stream()
+                .filter(f -> f.getOrderId().equals(orderId))
+                .findFirst()
+                .orElseThrow();
+
+        //then
+        assertThat(flat.getItemId()).isEqualTo(itemId);
+        assertThat(flat.getItemName()).isEqualTo("사전 JPA");
+    }
+
+    @Test
+    void 신규_상품은_커밋_후_반영() throws Exception {
+        //given
+        long version = itemNameDictionary.version();
+
+        //when
+        saveBook("신규 상품");
+
+        //then -> resolve (조회 시 채우기) 없이 @PostPersist 이벤트로 반영
+        assertThat(itemNameDictionary.version()).isGreaterThan(version);
+    }
+
+    @Test
+    void 상품명_변경_후_반영() throws Exception {
+        //given
+        Long itemId = saveBook("변경 전");
+        Long orderId = order(itemId);
+        long version = itemNameDictionary.version();
+
+        //when
+        itemService.updateItem(itemId, "변경 후", 10000, 10);
+
+        //then
+        assertThat(itemNameDictionary.version()).isGreaterThan(version);
+        assertThat(orderQueryRepository.findAllByDto_optimization())
+                .filteredOn(o -> o.getOrderId().equals(orderId))
+                .flatExtracting(OrderQueryDto::getOrderItems)
+                .extracting(OrderItemQueryDto::getItemName)
+                .containsExactly("변경 후");
+    }
+
+    @Test
+    void 이벤트_없이_적재된_상품은_조회할_때_채운다() throws Exception {
+        //given -> JDBC 로 직접 적재 (DataGenerator 와 같은 경로)
+        Long itemId = jdbcTemplate.queryForObject("select next value for hibernate_sequence", Long.class);
+        jdbcTemplate.update("insert into item (dtype, item_id, name, price, stock_quantity) values ('B', ?, ?, 0, 0)",
+                itemId, "적재 상품");
+
+        //when
+        String name = itemNameDictionary.resolve(new long[]{itemId}).get(itemId);
+
+        //then
+        assertThat(name).isEqualTo("적재 상품");
+    }
+
+    private Long saveBook(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+
+        return book.getId();
+    }
+
+    private Long order(Long itemId) {
+        Member member = new Member();
+        member.setName("dictionary-" + UUID.randomUUID());
+        member.setAddress(new Address("seoul", "river", "12345"));
+        memberService.join(member);
+
+        return orderService.order(member.getId(), itemId, 1);
+    }
+}
@@ -0,0 +1,75 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class MemberImportServiceTest {
+
+    @Autowired MemberImportService memberImportService;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    public void CSV_대량_등록() throws Exception {
+        //given
+        StringBuilder csv = new StringBuilder("name,city,street,zipcode\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append("import-").append(i).append(",seoul,\"river, 1\",12345\n");
+        }
+        csv.append("userA,seoul,river,12345\n"); //이미 존재 (InitDb)
+        csv.append("import-0,seoul,river,12345\n"); //요청 안에서 중복
+        csv.append(",seoul,river,12345\n"); //이름 없음
+
+        //when
+        MemberImportResult result = memberImportService.importCsv(stream(csv.toString()));
+
+        //then
+        assertEquals(2503, result.getTotal());
+        assertEquals(2500, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(2501L, 2502L, 2503L), result.getErrors().stream().map(MemberImportResult.RowError::getRow).toList());
+        assertEquals("river, 1", memberRepository.findByName("import-1").get(0).getAddress().getStreet());
+    }
+
+    @Test
+    public void CSV_헤더_없음() throws Exception {
+        //given -> 첫 줄이 name 으로 시작하는 회원 이름
+        String csv = "namju,seoul,river,12345\nNAME-2,seoul,river,12345\n";
+
+        //when
+        MemberImportResult result = memberImportService.importCsv(stream(csv));
+
+        //then
+        assertEquals(2, result.getImported());
+        assertTrue(memberRepository.existsByName("namju"));
+    }
+
+    @Test
+    public void JSON_대량_등록() throws Exception {
+        //given
+        String json = "[{\"name\": \"json-1\", \"city\": \"seoul\"}, {\"name\": \"json-2\"}, {\"name\": \"json-1\"}]";
+
+        //when
+        MemberImportResult result = memberImportService.importJson(stream(json));
+
+        //then
+        assertEquals(3, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(memberRepository.existsByName("json-2"));
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -57,4 +58,57 @@ class MemberServiceTest {
 
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void 회원_수정_중복_이름_예외() throws Exception {
+        //given
+        Member member1 = new Member();
+        member1.setName("update-a");
+        memberService.join(member1);
+
+        Member member2 = new Member();
+        member2.setName("update-b");
+        Long memberId = memberService.join(member2);
+
+        //when, then
+        assertThrows(IllegalStateException.class, () -> memberService.update(memberId, "update-a"));
+        memberService.update(memberId, "update-b"); //같은 이름으로 수정 -> 중복 x
+    }
+
+    @Test
+    void 회원_목록_keyset_페이징() throws Exception {
+        //given
+        for (int i = 0; i < 5; i++) {
+            Member member = new Member();
+            member.setName("page-" + i);
+            memberService.join(member);
+        }
+
+        //when
+        List<Member> first = memberService.findMembers(null, 3);
+        List<Member> next = memberService.findMembers(first.get(first.size() - 1).getId(), 3);
+
+        //then
+        assertEquals(3, first.size());
+        assertThat(next).isNotEmpty();
+        assertThat(next.get(0).getId()).isGreaterThan(first.get(2).getId());
+        assertEquals(memberService.findMembers().size(), memberService.countMembers());
+    }
+
+    @Test
+    void 이름_앞부분_검색_와일드카드_escape() throws Exception {
+        //given
+        Member member1 = new Member();
+        member1.setName("50%_off");
+        Member member2 = new Member();
+        member2.setName("50abc");
+        memberService.join(member1);
+        memberService.join(member2);
+
+        //when
+        List<Member> result = memberService.searchMembers("50%", 10);
+
+        //then
+        assertThat(result).extracting(Member::getName).containsExactly("50%_off");
+    }
+}
@@ -0,0 +1,163 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.MemberRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 주문 1건당 select 수 비교 -> 기존 방식(회원, 상품 엔티티를 각각 조회) vs 배송지 + 상품 한 번에 조회, 회원은 프록시
+ * 스케줄러 등 다른 스레드의 쿼리가 섞이지 않도록 select 는 스레드 별로 센다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "jpabook.jpashop.service.OrderPlacementSelectCountTest$SelectCounter")
+@Transactional
+class OrderPlacementSelectCountTest {
+
+    private static final int ORDERS = 100;
+
+    @Autowired EntityManager em;
+    @Autowired OrderService orderService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired ItemRepository itemRepository;
+
+    @Test
+    void 주문_1건당_select_수() throws Exception {
+        //given
+        Member member = new Member();
+        member.setName("select-count-" + System.nanoTime());
+        member.setAddress(new Address("seoul", "river", "12345"));
+        em.persist(member);
+
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.addStockQuantity(ORDERS);
+        em.persist(book);
+
+        em.flush();
+        em.clear();
+
+        //when
+        SelectCounter.reset();
+        for (int i = 0; i < ORDERS; i++) {
+            //기존 order() 의 조회 -> 회원 전체 로딩 + 상품 로딩
+            Member found = memberRepository.findOne(member.getId());
+            found.getAddress();
+            itemRepository.findOne(book.getId());
+            em.clear();
+        }
+        int before = SelectCounter.count();
+
+        SelectCounter.reset();
+        for (int i = 0; i < ORDERS; i++) {
+            orderService.order(member.getId(), book.getId(), 1);
+            em.flush();
+            em.clear();
+        }
+        int after = SelectCounter.count();
+
+        //then
+        assertEquals(2 * ORDERS, before);
+        assertEquals(ORDERS, after);
+        assertEquals(0, em.find(Item.class, book.getId()).getStockQuantity());
+    }
+
+    @Test
+    void 주문_그룹_select_수() throws Exception {
+        //given
+        Member member = new Member();
+        member.setName("select-count-" + System.nanoTime());
+        member.setAddress(new Address("seoul", "river", "12345"));
+        em.persist(member);
+
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.addStockQuantity(ORDERS);
+        em.persist(book);
+
+        em.flush();
+        em.clear();
+
+        List<OrderCommand> commands = IntStream.range(0, ORDERS)
+                .mapToObj(i -> new OrderCommand(member.getId(), book.getId(), 1))
+                .toList();
+
+        //when
+        SelectCounter.reset();
+        List<OrderResult> results = orderService.orderAll(commands);
+        int count = SelectCounter.count();
+
+        //then
+        assertEquals(2, count, "배송지 1번 + 상품 1번 (주문마다 조회 x)");
+        assertEquals(ORDERS, results.stream().filter(OrderResult::isSuccess).count());
+        em.flush();
+        em.clear();
+        assertEquals(0, em.find(Item.class, book.getId()).getStockQuantity());
+    }
+
+    @Test
+    void 주문_취소_select_수() throws Exception {
+        //given
+        Member member = new Member();
+        member.setName("select-count-" + System.nanoTime());
+        member.setAddress(new Address("seoul", "river", "12345"));
+        em.persist(member);
+
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.addStockQuantity(ORDERS);
+        em.persist(book);
+
+        Long orderId = orderService.order(member.getId(), book.getId(), 3);
+        em.flush();
+        em.clear();
+
+        //when
+        SelectCounter.reset();
+        orderService.cancelOrder(orderId);
+        int count = SelectCounter.count();
+
+        //then
+        assertEquals(1, count, "주문 + 회원, 배송, 주문상품, 상품 (Order.withItems)");
+        em.flush();
+        em.clear();
+        assertEquals(ORDERS, em.find(Item.class, book.getId()).getStockQuantity());
+    }
+
+    public static class SelectCounter implements StatementInspector {
+
+        private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+        static void reset() {
+            COUNT.get()[0] = 0;
+        }
+
+        static int count() {
+            return COUNT.get()[0];
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.stripLeading().toLowerCase().startsWith("select")) {
+                COUNT.get()[0]++;
+            }
+            return sql;
+        }
+    }
+}
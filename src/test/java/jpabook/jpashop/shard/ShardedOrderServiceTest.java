@@ -0,0 +1,157 @@
+package jpabook.jpashop.shard;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.exception.ItemNotFoundException;
+import jpabook.jpashop.exception.MemberNotFoundException;
+import jpabook.jpashop.exception.OrderNotFoundException;
+import jpabook.jpashop.repository.order.simpleQuery.OrderSimpleQueryDto;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 H2 메모리 DB 3개를 shard 로 사용
+ * shard 에 저장된 주문은 primary 트랜잭션과 무관하므로 테스트 롤백(@Transactional)을 사용하지 않는다.
+ */
+@SpringBootTest(properties = {
+        "jpashop.shard.enabled=true",
+        "jpashop.shard.urls[0]=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "jpashop.shard.urls[1]=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "jpashop.shard.urls[2]=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1"
+})
+class ShardedOrderServiceTest {
+
+    @Autowired ShardedOrderService shardedOrderService;
+    @Autowired OrderShards orderShards;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+
+    @Test
+    void 회원별_shard_저장() throws Exception {
+        //given
+        Book book = createBook("SHARD BOOK", 10000, 100);
+        Set<Integer> usedShards = new HashSet<>();
+
+        for (int i = 0; i < 6; i++) {
+            Long memberId = createMember("shard-member-" + i);
+
+            //when
+            Long orderId = shardedOrderService.order(memberId, book.getId(), 1);
+
+            //then
+            ShardedOrder order = shardedOrderService.findOne(orderId);
+            assertEquals(orderShards.shardOf(memberId), orderShards.shardOfOrder(orderId)); //주문 id 로 shard 를 찾을 수 있다
+            assertEquals(memberId, order.getMemberId());
+            assertEquals(1, order.getOrderItems().size());
+            usedShards.add(orderShards.shardOf(memberId));
+        }
+
+        assertEquals(3, usedShards.size()); //연속된 회원 id -> 모든 shard 에 분산
+        assertEquals(94, itemService.findOne(book.getId()).getStockQuantity()); //재고는 primary 에서 관리
+    }
+
+    @Test
+    void scatter_gather_정렬_페이징() throws Exception {
+        //given
+        Book book = createBook("SCATTER BOOK", 20000, 100);
+        for (int i = 0; i < 7; i++) {
+            shardedOrderService.order(createMember("scatter-member-" + i), book.getId(), 1);
+        }
+
+        //when
+        List<OrderSimpleQueryDto> all = shardedOrderService.findAllWithMemberDelivery(0, 1000);
+        List<OrderSimpleQueryDto> paged = new ArrayList<>();
+        for (int offset = 0; offset < all.size(); offset += 4) {
+            paged.addAll(shardedOrderService.findAllWithMemberDelivery(offset, 4));
+        }
+
+        //then
+        Comparator<OrderSimpleQueryDto> latestFirst = Comparator.comparing(OrderSimpleQueryDto::getOrderDate)
+                .thenComparing(OrderSimpleQueryDto::getOrderId)
+                .reversed();
+        List<OrderSimpleQueryDto> sorted = new ArrayList<>(all);
+        sorted.sort(latestFirst);
+
+        assertTrue(all.size() >= 7);
+        assertEquals(orderIds(sorted), orderIds(all)); //shard 결과가 하나의 순서로 병합
+        assertEquals(orderIds(all), orderIds(paged)); //페이지를 이어 붙이면 전체 결과와 같다
+        assertTrue(all.stream().allMatch(o -> o.getName() != null)); //회원 이름은 primary 에서 조회
+        assertEquals(all.size(), shardedOrderService.findAllByDto_flat(0, 1000).size()); //주문당 주문상품 1개
+    }
+
+    @Test
+    void 주문취소() throws Exception {
+        //given
+        Book book = createBook("CANCEL BOOK", 10000, 10);
+        Long orderId = shardedOrderService.order(createMember("cancel-member"), book.getId(), 2);
+
+        //when
+        shardedOrderService.cancelOrder(orderId);
+
+        //then
+        assertEquals(OrderStatus.CANCEL, shardedOrderService.findOne(orderId).getStatus());
+        assertEquals(10, itemService.findOne(book.getId()).getStockQuantity()); //재고 원복
+    }
+
+    @Test
+    void 주문취소_중복_없는_주문() throws Exception {
+        //given
+        Book book = createBook("CANCEL TWICE BOOK", 10000, 10);
+        Long orderId = shardedOrderService.order(createMember("cancel-twice-member"), book.getId(), 2);
+        shardedOrderService.cancelOrder(orderId);
+
+        //when, then
+        assertThrows(IllegalStateException.class, () -> shardedOrderService.cancelOrder(orderId));
+        assertEquals(10, itemService.findOne(book.getId()).getStockQuantity()); //재고는 한 번만 원복
+        assertThrows(OrderNotFoundException.class, () -> shardedOrderService.cancelOrder(orderId + orderShards.size() * 100_000L));
+    }
+
+    @Test
+    void 없는_회원_상품_주문() throws Exception {
+        //given
+        Book book = createBook("UNKNOWN MEMBER BOOK", 10000, 10);
+        Long memberId = createMember("unknown-item-member");
+
+        //when, then
+        assertThrows(MemberNotFoundException.class, () -> shardedOrderService.order(-1L, book.getId(), 1));
+        assertThrows(ItemNotFoundException.class, () -> shardedOrderService.order(memberId, -1L, 1));
+        assertEquals(10, itemService.findOne(book.getId()).getStockQuantity()); //재고 변경 없음
+    }
+
+    private List<Long> orderIds(List<OrderSimpleQueryDto> orders) {
+        return orders.stream()
+                .map(OrderSimpleQueryDto::getOrderId)
+                .toList();
+    }
+
+    private Long createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("seoul", "river", "12345"));
+
+        return memberService.join(member);
+    }
+
+    private Book createBook(String name, int price, int quantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(quantity);
+        itemService.saveItem(book);
+
+        return book;
+    }
+}
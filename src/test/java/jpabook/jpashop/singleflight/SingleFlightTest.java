@@ -0,0 +1,135 @@
+package jpabook.jpashop.singleflight;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void 동시에_들어온_같은_키는_한_번만_실행() throws Exception {
+        //given
+        SingleFlight singleFlight = new SingleFlight(true);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        //when -> 첫 호출이 실행 중인 동안 나머지가 합류하도록 실행을 붙잡아 둔다.
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("orders", () -> {
+                executions.incrementAndGet();
+                await(release);
+                return List.of("order-1", "order-2");
+            })));
+        }
+        waitUntil(() -> singleFlight.snapshot().get("orders") != null
+                && singleFlight.snapshot().get("orders").shared() == callers - 1);
+        release.countDown();
+
+        //then
+        List<String> first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<String>> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+
+        SingleFlightStats stats = singleFlight.snapshot().get("orders");
+        assertEquals(1, stats.executions());
+        assertEquals(callers - 1, stats.shared());
+        assertEquals(callers, stats.maxCallers());
+        assertEquals(0, stats.inFlight());
+        executor.shutdown();
+    }
+
+    @Test
+    void 실행이_끝나면_다음_호출은_다시_실행() throws Exception {
+        //given
+        SingleFlight singleFlight = new SingleFlight(true);
+        AtomicInteger executions = new AtomicInteger();
+
+        //when
+        singleFlight.execute("orders", executions::incrementAndGet);
+        singleFlight.execute("orders", executions::incrementAndGet);
+        singleFlight.execute("members", executions::incrementAndGet);
+
+        //then -> 결과를 캐시하지 않는다.
+        assertEquals(3, executions.get());
+        assertEquals(2, singleFlight.snapshot().get("orders").executions());
+        assertEquals(0, singleFlight.snapshot().get("orders").shared());
+    }
+
+    @Test
+    void 예외도_함께_받는다() throws Exception {
+        //given
+        SingleFlight singleFlight = new SingleFlight(true);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        //when
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("orders", () -> {
+                await(release);
+                throw new IllegalStateException("db down");
+            })));
+        }
+        waitUntil(() -> singleFlight.snapshot().get("orders") != null
+                && singleFlight.snapshot().get("orders").shared() == 1);
+        release.countDown();
+
+        //then
+        for (Future<Object> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals("ok", singleFlight.execute("orders", () -> "ok")); //실패한 실행은 남지 않는다.
+        executor.shutdown();
+    }
+
+    @Test
+    void 끄면_항상_실행() throws Exception {
+        //given
+        SingleFlight singleFlight = new SingleFlight(false);
+        AtomicInteger executions = new AtomicInteger();
+
+        //when
+        singleFlight.execute("orders", executions::incrementAndGet);
+
+        //then
+        assertEquals(1, executions.get());
+        assertTrue(singleFlight.snapshot().isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("release timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("timeout");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
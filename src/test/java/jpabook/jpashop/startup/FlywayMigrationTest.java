@@ -0,0 +1,64 @@
+package jpabook.jpashop.startup;
+
+import jpabook.jpashop.datagen.DataGenProperties;
+import jpabook.jpashop.datagen.DataGenResult;
+import jpabook.jpashop.datagen.DataGenerator;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.service.MemberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * prod, datagen 프로필 스키마 -> 마이그레이션으로 만든 스키마가 엔티티 매핑과 같은지 ddl-auto=validate 로 확인
+ * (다르면 컨텍스트가 뜨지 않는다.)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flyway;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class FlywayMigrationTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired MemberService memberService;
+    @Autowired DataGenerator dataGenerator;
+
+    @Test
+    void 마이그레이션_스키마로_저장_조회() throws Exception {
+        //given
+        Member member = new Member();
+        member.setName("flyway-" + System.nanoTime());
+
+        //when
+        Long memberId = memberService.join(member);
+
+        //then
+        assertEquals(member.getName(), memberService.findOne(memberId).getName());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from \"flyway_schema_history\" where \"version\" = '1' and \"success\" = true", Integer.class));
+    }
+
+    //datagen 프로필도 같은 스키마에 생성 -> prod 프로필로 그대로 사용
+    @Test
+    void 마이그레이션_스키마에_대량_데이터_생성() throws Exception {
+        //given
+        DataGenProperties spec = new DataGenProperties();
+        spec.setMembers(100);
+        spec.setItems(20);
+        spec.setCategories(5);
+        spec.setOrders(500);
+        spec.setChunkSize(200);
+
+        //when
+        DataGenResult result = dataGenerator.generate(spec);
+
+        //then
+        assertEquals(spec.getOrders(), jdbcTemplate.queryForObject(
+                "select count(*) from orders where order_id > ? and order_id <= ?", Integer.class,
+                result.orderBase(), result.orderBase() + spec.getOrders()));
+    }
+}
@@ -0,0 +1,44 @@
+package jpabook.jpashop.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void 추가한_값은_항상_존재() throws Exception {
+        //given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("member-" + i);
+        }
+
+        //then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("member-" + i));
+        }
+    }
+
+    @Test
+    void 오탐_확률() throws Exception {
+        //given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("member-" + i);
+        }
+
+        //when
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        assertTrue(falsePositives < 2_000, "오탐 " + falsePositives + " / 100000"); //기대값 1%
+    }
+}
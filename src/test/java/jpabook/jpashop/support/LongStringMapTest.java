@@ -0,0 +1,60 @@
+package jpabook.jpashop.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongStringMapTest {
+
+    @Test
+    void 변경은_새_맵() throws Exception {
+        //given
+        LongStringMap before = LongStringMap.of(new long[]{1, 2}, new String[]{"a", "b"});
+
+        //when
+        LongStringMap after = before.with(2, "B").with(3, "c");
+
+        //then
+        assertEquals("b", before.get(2));
+        assertNull(before.get(3));
+        assertEquals("B", after.get(2));
+        assertEquals("c", after.get(3));
+        assertEquals(3, after.size());
+    }
+
+    @Test
+    void 확장_후에도_모든_키() throws Exception {
+        //given
+        int n = 10_000;
+        long[] keys = new long[n];
+        String[] values = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = i * 50L; //시퀀스 allocationSize 처럼 간격이 있는 id
+            values[i] = "item-" + i;
+        }
+
+        //when
+        LongStringMap map = LongStringMap.of(keys, values);
+
+        //then
+        assertEquals(n, map.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals("item-" + i, map.get(i * 50L));
+        }
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    void 덮어쓰지_않는_추가() throws Exception {
+        //given
+        LongStringMap map = LongStringMap.of(new long[]{1}, new String[]{"최신"});
+
+        //when
+        LongStringMap merged = map.withAll(new long[]{1, 2}, new String[]{"이전", "b"}, false);
+
+        //then
+        assertEquals("최신", merged.get(1));
+        assertEquals("b", merged.get(2));
+        assertEquals(2, merged.size());
+    }
+}
@@ -0,0 +1,52 @@
+package jpabook.jpashop.warmup;
+
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 워밍업은 컨텍스트가 뜰 때 (ready) 실행된다. -> 실제 포트가 있어야 엔드포인트까지 호출
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jpashop.warmup.enabled=true",
+        "jpashop.warmup.budget=5s",
+        "jpashop.warmup.iterations=20",
+        "management.endpoint.health.probes.enabled=true"
+})
+class ApplicationWarmupTest {
+
+    @Autowired ApplicationWarmup applicationWarmup;
+    @Autowired OrderRepository orderRepository;
+    @Autowired TestRestTemplate restTemplate;
+
+    @Test
+    void 워밍업_대상별_결과() throws Exception {
+        //then
+        assertThat(applicationWarmup.getResults())
+                .extracting(WarmupResult::target)
+                .contains("order+cancel (rollback)", "orderList", "GET /api/v3.1/orders?limit=20");
+        assertThat(applicationWarmup.getResults()).allMatch(r -> r.calls() > 0 && r.firstMillis() > 0);
+    }
+
+    @Test
+    void 워밍업_주문은_롤백() throws Exception {
+        //then -> InitDb 주문 2건만 남아 있다.
+        assertEquals(2, orderRepository.findAllByString(new OrderSearch()).size());
+    }
+
+    @Test
+    void 워밍업이_끝난_뒤_readiness() throws Exception {
+        //when
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/health/readiness", String.class);
+
+        //then
+        assertEquals(200, response.getStatusCodeValue());
+    }
+}